@@ -0,0 +1,247 @@
+/**
+ * Solves a Sudoku puzzle with Knuth's Algorithm X on Dancing Links. 
+ * 
+ * The board is modelled as an exact cover matrix with 729 rows (one for every number in every box) and 324 columns: 
+ * every box holds one number, and every row, column, and square holds each number once. 
+ * 
+ * The links are built once when the solver is created. Givens are covered before the search and uncovered again afterwards, 
+ * so the matrix is back in its original state after every puzzle and solving allocates nothing. A solver instance is not thread safe. 
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public class DancingLinksSolver implements SudokuEngine
+{
+    private static final int COLUMNS = 324; // 81 box constraints, then 81 row-number, 81 column-number, and 81 square-number constraints. 
+    private static final int ROWS = 729; // One matrix row for each (box, number) pair, numbered box * 9 + (number - 1). 
+    private static final int FIRST_NODE = COLUMNS + 1; // Node 0 is the root and nodes 1 to 324 are the column headers. 
+    
+    private final int[] left = new int[FIRST_NODE + ROWS * 4]; 
+    private final int[] right = new int[FIRST_NODE + ROWS * 4]; 
+    private final int[] up = new int[FIRST_NODE + ROWS * 4]; 
+    private final int[] down = new int[FIRST_NODE + ROWS * 4]; 
+    private final int[] columnOf = new int[FIRST_NODE + ROWS * 4]; // Column header each node belongs to. 
+    private final int[] size = new int[FIRST_NODE]; // Number of nodes still linked into each column. 
+    private final boolean[] covered = new boolean[FIRST_NODE]; // True while a column is covered. Used to reject conflicting givens. 
+    
+    private final int[] givenNodes = new int[81]; // Matrix rows selected for the givens of the current puzzle, in the order they were covered. 
+    private final int[] chosenNodes = new int[81]; // Matrix rows chosen by the search at each depth. 
+    private int solutionLimit; // The search stops once this many solutions have been found. 
+    private int solutionCount; // Solutions found so far by the current search. 
+    
+    public DancingLinksSolver() // Builds the full exact cover matrix. 
+    {
+        for(int c = 0; c <= COLUMNS; c++)
+        {
+            left[c] = (c == 0) ? COLUMNS : c - 1; 
+            right[c] = (c == COLUMNS) ? 0 : c + 1; 
+            up[c] = c; 
+            down[c] = c; 
+            columnOf[c] = c; 
+        }
+        
+        for(int r = 0; r < ROWS; r++)
+        {
+            int box = r / 9; 
+            int num = r % 9; 
+            int row = box / 9; 
+            int column = box % 9; 
+            int square = (row / 3) * 3 + (column / 3); 
+            int first = FIRST_NODE + r * 4; 
+            
+            link(first, 1 + box); 
+            link(first + 1, 1 + 81 + row * 9 + num); 
+            link(first + 2, 1 + 162 + column * 9 + num); 
+            link(first + 3, 1 + 243 + square * 9 + num); 
+            
+            for(int k = 0; k < 4; k++)
+            {
+                left[first + k] = first + ((k + 3) % 4); 
+                right[first + k] = first + ((k + 1) % 4); 
+            }
+        }
+    }
+    
+    private void link(int node, int column) // Appends a node to the bottom of a column. 
+    {
+        columnOf[node] = column; 
+        up[node] = up[column]; 
+        down[node] = column; 
+        down[up[column]] = node; 
+        up[column] = node; 
+        size[column]++; 
+    }
+    
+    public int solve(int[] puzzle, int[] solution) // Solves the puzzle, leaving the matrix exactly as it was found. 
+    {
+        int count = run(puzzle, 1, solution); 
+        if(count < 0)
+        {
+            return INVALID; 
+        }
+        return (count > 0) ? SOLVED : NO_SOLUTION; 
+    }
+    
+    public int countSolutions(int[] puzzle, int limit, int[] firstSolution) // Counts solutions up to limit, leaving the matrix exactly as it was found. 
+    {
+        if(limit < 1)
+        {
+            throw new IllegalArgumentException("Solution limit must be at least 1, was " + limit); 
+        }
+        return Math.max(run(puzzle, limit, firstSolution), 0); 
+    }
+    
+    private int run(int[] puzzle, int limit, int[] solution) // Covers the givens, searches for up to limit solutions, and uncovers the givens again. Returns the number found, or -1 for conflicting or out of range givens. 
+    {
+        if(puzzle.length != 81)
+        {
+            return -1; 
+        }
+        for(int i = 0; i < 81; i++)
+        {
+            if(puzzle[i] < 0 || puzzle[i] > 9)
+            {
+                return -1; // Checked before anything is covered, since an out of range value would pick a node outside its box's rows. 
+            }
+        }
+        
+        int givens = 0; 
+        boolean valid = true; 
+        for(int i = 0; i < 81; i++)
+        {
+            if(solution != null)
+            {
+                solution[i] = puzzle[i]; 
+            }
+            if(puzzle[i] != 0)
+            {
+                int node = FIRST_NODE + (i * 9 + puzzle[i] - 1) * 4; 
+                if(covered[columnOf[node]] || covered[columnOf[node + 1]] || covered[columnOf[node + 2]] || covered[columnOf[node + 3]])
+                {
+                    valid = false; // This given repeats a number already given in its row, column, or square. 
+                    break; 
+                }
+                
+                selectRow(node); 
+                givenNodes[givens++] = node; 
+            }
+        }
+        
+        solutionLimit = limit; 
+        solutionCount = 0; 
+        if(valid)
+        {
+            search(0, solution); 
+        }
+        
+        while(givens > 0)
+        {
+            unselectRow(givenNodes[--givens]); 
+        }
+        
+        return valid ? solutionCount : -1; 
+    }
+    
+    private boolean search(int depth, int[] solution) // Algorithm X: covers the column with the fewest rows and tries each of its rows in turn. Returns true once the solution limit is reached. 
+    {
+        if(right[0] == 0)
+        {
+            if(solutionCount == 0 && solution != null)
+            {
+                for(int d = 0; d < depth; d++)
+                {
+                    int r = (chosenNodes[d] - FIRST_NODE) / 4; 
+                    solution[r / 9] = (r % 9) + 1; 
+                }
+            }
+            solutionCount++; 
+            return solutionCount >= solutionLimit; 
+        }
+        
+        int best = right[0]; 
+        for(int c = right[best]; c != 0; c = right[c])
+        {
+            if(size[c] < size[best])
+            {
+                best = c; 
+            }
+        }
+        
+        if(size[best] == 0)
+        {
+            return false; 
+        }
+        
+        boolean found = false; 
+        cover(best); 
+        for(int r = down[best]; r != best && !found; r = down[r])
+        {
+            chosenNodes[depth] = r; 
+            for(int j = right[r]; j != r; j = right[j])
+            {
+                cover(columnOf[j]); 
+            }
+            
+            found = search(depth + 1, solution); 
+            
+            for(int j = left[r]; j != r; j = left[j])
+            {
+                uncover(columnOf[j]); 
+            }
+        }
+        uncover(best); 
+        
+        return found; 
+    }
+    
+    private void selectRow(int node) // Covers every column of the matrix row containing node. 
+    {
+        cover(columnOf[node]); 
+        for(int j = right[node]; j != node; j = right[j])
+        {
+            cover(columnOf[j]); 
+        }
+    }
+    
+    private void unselectRow(int node) // Reverses selectRow(). 
+    {
+        for(int j = left[node]; j != node; j = left[j])
+        {
+            uncover(columnOf[j]); 
+        }
+        uncover(columnOf[node]); 
+    }
+    
+    private void cover(int c) // Removes a column from the header list and every row that intersects it from the other columns. 
+    {
+        covered[c] = true; 
+        right[left[c]] = right[c]; 
+        left[right[c]] = left[c]; 
+        for(int i = down[c]; i != c; i = down[i])
+        {
+            for(int j = right[i]; j != i; j = right[j])
+            {
+                up[down[j]] = up[j]; 
+                down[up[j]] = down[j]; 
+                size[columnOf[j]]--; 
+            }
+        }
+    }
+    
+    private void uncover(int c) // Reverses cover(), relinking in the opposite order. 
+    {
+        for(int i = up[c]; i != c; i = up[i])
+        {
+            for(int j = left[i]; j != i; j = left[j])
+            {
+                size[columnOf[j]]++; 
+                up[down[j]] = j; 
+                down[up[j]] = j; 
+            }
+        }
+        right[left[c]] = c; 
+        left[right[c]] = c; 
+        covered[c] = false; 
+    }
+}
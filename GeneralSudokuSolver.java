@@ -0,0 +1,398 @@
+/**
+ * Solves Sudoku boards of any size (n * n) x (n * n) (4 x 4, 9 x 9, 16 x 16, 25 x 25, ... up to 64 x 64).
+ *
+ * Boards are one dimensional arrays of side * side numbers, row by row, with 0 for an empty box and 1 to side for a filled one.
+ * The candidates of each box are a long bitset where bit (num - 1) is set if num can still go in that box.
+ *
+ * Everything that depends on the size is worked out once, in the constructor: which row, column, and square each box belongs to,
+ * which boxes make up each unit (row, column, or square), and the peers of each box (every other box sharing a unit with it).
+ * Placing a number therefore walks a flat list of peers instead of working out rows, columns, and squares again, whatever the size.
+ *
+ * Propagation places naked singles and hidden singles until neither applies, then the box with the fewest candidates is branched on.
+ * It is driven by work queues, as in SudokuCandidates: a box left with one candidate is queued as a naked single, and every unit of a box whose
+ * candidates change is queued for a hidden single scan, so each round only looks at what changed.
+ * Every change goes on an undo trail, so guesses are rolled back without copying the board. A solver instance is reusable but not thread safe.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public class GeneralSudokuSolver implements SudokuEngine
+{
+    private final int side; // Side of the board, n * n.
+    private final int boxes; // Number of boxes on the board, side * side.
+    private final long all; // Candidate bitset with every number set.
+
+    private final int[][] units; // Boxes of every unit: rows 0 to side - 1, then columns, then squares.
+    private final int[][] unitsOfBox; // The row, column, and square unit of every box.
+    private final int[][] peers; // Every other box sharing a row, column, or square with each box.
+
+    private final int[] values; // Number placed in each box, 0 if empty.
+    private final long[] candidates; // Candidate bitset of each box. A filled box holds 0.
+    private final long[] unitMask; // Numbers already placed in each unit.
+    private int emptyCount;
+    private boolean contradiction; // Set once an empty box has no candidates left.
+
+    private final int[] trailBox; // Undo trail. A candidate change stores the box; a placement stores -(box + 1).
+    private final long[] trailOld; // Old candidates of the box, or the number placed.
+    private int trailSize;
+
+    private final int[] singles; // Boxes that have been left with exactly one candidate, waiting to be placed.
+    private int singleCount; // Candidates only shrink between undos, so each box is queued at most once.
+    private final int[] dirtyUnits; // Units whose boxes changed, waiting for a hidden single scan.
+    private final boolean[] queued; // Whether each unit is in dirtyUnits.
+    private int dirtyCount;
+
+    private final int[] firstSolution; // Copy of the first solution found by the current search.
+    private int solutionLimit; // The search stops once this many solutions have been found.
+    private int solutionCount;
+
+    public GeneralSudokuSolver(int n) // Creates a solver for (n * n) x (n * n) boards.
+    {
+        if(n < 1 || n > 8)
+        {
+            throw new IllegalArgumentException("Square size must be between 1 and 8 (boards up to 64 x 64), was " + n);
+        }
+
+        side = n * n;
+        boxes = side * side;
+        all = (side == 64) ? -1L : (1L << side) - 1;
+
+        units = new int[3 * side][side];
+        unitsOfBox = new int[boxes][3];
+        for(int box = 0; box < boxes; box++)
+        {
+            int row = box / side;
+            int column = box % side;
+            int square = (row / n) * n + (column / n);
+            int inSquare = (row % n) * n + (column % n);
+
+            units[row][column] = box;
+            units[side + column][row] = box;
+            units[2 * side + square][inSquare] = box;
+            unitsOfBox[box][0] = row;
+            unitsOfBox[box][1] = side + column;
+            unitsOfBox[box][2] = 2 * side + square;
+        }
+
+        peers = new int[boxes][];
+        int peerCount = 2 * (side - 1) + (n - 1) * (n - 1); // Row and column peers, plus the square peers not already in the row or column.
+        boolean[] seen = new boolean[boxes];
+        for(int box = 0; box < boxes; box++)
+        {
+            int[] list = new int[peerCount];
+            int count = 0;
+            for(int u = 0; u < 3; u++)
+            {
+                for(int other : units[unitsOfBox[box][u]])
+                {
+                    if(other != box && !seen[other])
+                    {
+                        seen[other] = true;
+                        list[count++] = other;
+                    }
+                }
+            }
+            for(int other : list)
+            {
+                seen[other] = false;
+            }
+            peers[box] = list;
+        }
+
+        values = new int[boxes];
+        candidates = new long[boxes];
+        unitMask = new long[3 * side];
+        trailBox = new int[2 * boxes + boxes * side];
+        trailOld = new long[2 * boxes + boxes * side];
+        firstSolution = new int[boxes];
+        singles = new int[boxes];
+        dirtyUnits = new int[3 * side];
+        queued = new boolean[3 * side];
+    }
+
+    public int getSide() // Returns the side of the boards this solver handles.
+    {
+        return side;
+    }
+
+    public int solve(int[] puzzle, int[] solution) // Solves a side * side puzzle into solution. Returns SOLVED, NO_SOLUTION, or INVALID (wrong length, a number out of range, or repeated givens).
+    {
+        if(puzzle.length != boxes || (solution != null && solution.length != boxes))
+        {
+            return INVALID; // solution is left as it was.
+        }
+
+        int status = load(puzzle) ? (count(1) > 0 ? SOLVED : NO_SOLUTION) : INVALID;
+        if(solution != null)
+        {
+            System.arraycopy((status == SOLVED) ? firstSolution : puzzle, 0, solution, 0, boxes);
+        }
+        return status;
+    }
+
+    public int countSolutions(int[] puzzle, int limit, int[] solution) // Counts the solutions of a side * side puzzle, stopping at limit. solution (may be null) receives the first one. Returns 0 for a wrong length.
+    {
+        if(limit < 1)
+        {
+            throw new IllegalArgumentException("Solution limit must be at least 1, was " + limit);
+        }
+        if(puzzle.length != boxes || (solution != null && solution.length != boxes))
+        {
+            return 0;
+        }
+
+        int count = load(puzzle) ? count(limit) : 0;
+        if(count > 0 && solution != null)
+        {
+            System.arraycopy(firstSolution, 0, solution, 0, boxes);
+        }
+        return count;
+    }
+
+    private int count(int limit) // Searches the loaded board for up to limit solutions.
+    {
+        solutionLimit = limit;
+        solutionCount = 0;
+        search();
+        return solutionCount;
+    }
+
+    private boolean load(int[] puzzle) // Clears the board and places the givens. Returns false if a number is out of range or two givens conflict.
+    {
+        for(int box = 0; box < boxes; box++)
+        {
+            values[box] = 0;
+            candidates[box] = all;
+        }
+        for(int u = 0; u < unitMask.length; u++)
+        {
+            unitMask[u] = 0;
+        }
+        emptyCount = boxes;
+        contradiction = false;
+        trailSize = 0;
+
+        for(int box = 0; box < boxes; box++)
+        {
+            int num = puzzle[box];
+            if(num < 0 || num > side || (num != 0 && !place(box, num)))
+            {
+                return false;
+            }
+        }
+
+        trailSize = 0;
+        clearQueues();
+        for(int u = 0; u < units.length; u++) // The first propagation looks at the whole board once.
+        {
+            markDirty(u);
+        }
+        for(int box = 0; box < boxes; box++)
+        {
+            if(values[box] == 0 && Long.bitCount(candidates[box]) == 1)
+            {
+                singles[singleCount++] = box;
+            }
+        }
+        return !contradiction;
+    }
+
+    private void markDirty(int unit) // Queues a unit for a hidden single scan, unless it is queued already.
+    {
+        if(!queued[unit])
+        {
+            queued[unit] = true;
+            dirtyUnits[dirtyCount++] = unit;
+        }
+    }
+
+    private void clearQueues()
+    {
+        while(dirtyCount > 0)
+        {
+            queued[dirtyUnits[--dirtyCount]] = false;
+        }
+        singleCount = 0;
+    }
+
+    private boolean place(int box, int num) // Places num in the box if it is still a candidate there and clears it from the box's peers.
+    {
+        long bit = 1L << (num - 1);
+        if((candidates[box] & bit) == 0)
+        {
+            return false;
+        }
+
+        trailBox[trailSize] = box;
+        trailOld[trailSize++] = candidates[box];
+        trailBox[trailSize] = -(box + 1);
+        trailOld[trailSize++] = num;
+        values[box] = num;
+        candidates[box] = 0;
+        emptyCount--;
+        for(int u = 0; u < 3; u++)
+        {
+            unitMask[unitsOfBox[box][u]] |= bit;
+            markDirty(unitsOfBox[box][u]);
+        }
+
+        for(int peer : peers[box])
+        {
+            long old = candidates[peer];
+            if((old & bit) != 0)
+            {
+                trailBox[trailSize] = peer;
+                trailOld[trailSize++] = old;
+                long left = old & ~bit;
+                candidates[peer] = left;
+                for(int u = 0; u < 3; u++)
+                {
+                    markDirty(unitsOfBox[peer][u]);
+                }
+                if(left == 0)
+                {
+                    contradiction = true;
+                }
+                else if((left & (left - 1)) == 0)
+                {
+                    singles[singleCount++] = peer;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void undo(int mark) // Rolls the board back to a position of the trail.
+    {
+        while(trailSize > mark)
+        {
+            trailSize--;
+            int box = trailBox[trailSize];
+            if(box < 0)
+            {
+                box = -box - 1;
+                long bit = 1L << (trailOld[trailSize] - 1);
+                for(int u = 0; u < 3; u++)
+                {
+                    unitMask[unitsOfBox[box][u]] &= ~bit;
+                }
+                values[box] = 0;
+                emptyCount++;
+            }
+            else
+            {
+                candidates[box] = trailOld[trailSize];
+            }
+        }
+        contradiction = false; // Marks are only taken in states without a contradiction,
+        clearQueues(); // and after propagation has finished, so nothing is left to do for the restored state.
+    }
+
+    private boolean propagate() // Places the queued naked singles, then scans the queued units for hidden singles, until both queues are empty. Returns false on a contradiction.
+    {
+        while(true)
+        {
+            while(singleCount > 0)
+            {
+                int box = singles[--singleCount];
+                long c = candidates[box];
+                if(c != 0) // Zero if the box was filled after being queued.
+                {
+                    place(box, Long.numberOfTrailingZeros(c) + 1);
+                }
+            }
+            if(contradiction)
+            {
+                return false;
+            }
+            if(dirtyCount == 0)
+            {
+                return true;
+            }
+
+            int u = dirtyUnits[--dirtyCount];
+            queued[u] = false;
+            long once = 0; // Numbers that are a candidate in at least one box of the unit.
+            long twice = 0; // Numbers that are a candidate in at least two.
+            for(int box : units[u])
+            {
+                twice |= once & candidates[box];
+                once |= candidates[box];
+            }
+
+            if((once | unitMask[u]) != all)
+            {
+                return false; // Some number has nowhere left to go in this unit.
+            }
+
+            long hidden = once & ~twice;
+            while(hidden != 0)
+            {
+                long bit = hidden & -hidden;
+                hidden &= hidden - 1;
+                for(int box : units[u])
+                {
+                    if((candidates[box] & bit) != 0)
+                    {
+                        place(box, Long.numberOfTrailingZeros(bit) + 1);
+                        break;
+                    }
+                }
+            }
+            if(contradiction)
+            {
+                return false;
+            }
+        }
+    }
+
+    private boolean search() // Depth first search on the box with the fewest candidates, rolling guesses back through the trail. Returns true once the solution limit is reached.
+    {
+        if(!propagate())
+        {
+            return false;
+        }
+        if(emptyCount == 0)
+        {
+            if(solutionCount == 0)
+            {
+                System.arraycopy(values, 0, firstSolution, 0, boxes);
+            }
+            solutionCount++;
+            return solutionCount >= solutionLimit;
+        }
+
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for(int box = 0; box < boxes && bestCount > 2; box++)
+        {
+            if(values[box] == 0)
+            {
+                int count = Long.bitCount(candidates[box]);
+                if(count < bestCount)
+                {
+                    best = box;
+                    bestCount = count;
+                }
+            }
+        }
+
+        int mark = trailSize;
+        long options = candidates[best];
+        while(options != 0)
+        {
+            int num = Long.numberOfTrailingZeros(options) + 1;
+            options &= options - 1;
+
+            place(best, num);
+            if(search())
+            {
+                return true;
+            }
+            undo(mark);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * Solves a whole file of Sudoku puzzles, one puzzle per line (81 characters, with 0 or . marking an empty box). 
+ * 
+ * The input file is memory mapped a window at a time and parsed straight from the bytes, so no String is created per line. 
+ * Each input line produces one output line: the 81 numbers of the solution, or "unsolvable" / "invalid". 
+ * Output goes through a large direct buffer to a FileChannel. 
+ * 
+ * With -unique every puzzle is checked for a unique solution instead (countSolutions with a limit of 2): the solution is written only 
+ * when it is the only one, and puzzles with more than one get "multiple". Counting finds no solution for conflicting givens, so the givens 
+ * are checked first, and a puzzle is "invalid" in both modes. 
+ * 
+ * Usage: java SudokuBatch input.txt output.txt [dlx|search|adaptive] [-unique]
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class SudokuBatch
+{
+    static final long WINDOW = 64L << 20; // Number of bytes of the input mapped at a time. Lines that straddle two windows are picked up by the next one. 
+    private static final byte[] UNSOLVABLE_LINE = "unsolvable\n".getBytes(); 
+    private static final byte[] INVALID_LINE = "invalid\n".getBytes(); 
+    private static final byte[] MULTIPLE_LINE = "multiple\n".getBytes(); 
+    
+    private final SudokuEngine engine; // Reused for every puzzle in the file. 
+    private final int[] puzzle = new int[81]; 
+    private final int[] solution = new int[81]; 
+    private final ByteBuffer outputBuffer = ByteBuffer.allocateDirect(1 << 20); 
+    private final boolean checkUniqueness; // True to count solutions and reject puzzles that have more than one. 
+    private final SudokuCandidates givens = new SudokuCandidates(); // Checks the givens before counting. 
+    private long solvedCount; // Puzzles solved (uniquely, when checking uniqueness) by the last call to solveFile(). 
+    
+    public SudokuBatch(SudokuEngine engine)
+    {
+        this(engine, false); 
+    }
+    
+    public SudokuBatch(SudokuEngine engine, boolean checkUniqueness)
+    {
+        this.engine = engine; 
+        this.checkUniqueness = checkUniqueness; 
+    }
+    
+    public long solveFile(Path input, Path output) throws IOException // Solves every puzzle in input and writes one line per puzzle to output. Returns the number of puzzles read. 
+    {
+        solvedCount = 0; 
+        long count = 0; 
+        outputBuffer.clear(); 
+        try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ); 
+            FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            long size = in.size(); 
+            long position = 0; 
+            while(position < size)
+            {
+                long length = Math.min(WINDOW, size - position); 
+                boolean lastWindow = (position + length == size); 
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length); 
+                
+                int start = 0; // Start of the line currently being read. 
+                int limit = (int) length; 
+                for(int i = 0; i < limit; i++)
+                {
+                    if(window.get(i) == '\n')
+                    {
+                        if(outputBuffer.remaining() < 82)
+                        {
+                            flush(out); 
+                        }
+                        count += solveLine(window, start, i, outputBuffer); 
+                        start = i + 1; 
+                    }
+                }
+                
+                if(lastWindow && start < limit) // Final line without a newline. 
+                {
+                    if(outputBuffer.remaining() < 82)
+                    {
+                        flush(out); 
+                    }
+                    count += solveLine(window, start, limit, outputBuffer); 
+                    start = limit; 
+                }
+                
+                if(start == 0)
+                {
+                    throw new IOException("Line at byte " + position + " is longer than " + WINDOW + " bytes."); 
+                }
+                position += start; 
+            }
+            
+            flush(out); 
+        }
+        
+        return count; 
+    }
+    
+    public long getSolvedCount() // Returns the number of puzzles solved since the last call to solveFile() or resetSolvedCount(). 
+    {
+        return solvedCount; 
+    }
+    
+    public void resetSolvedCount()
+    {
+        solvedCount = 0; 
+    }
+    
+    public int solveLines(ByteBuffer source, int start, int end, ByteBuffer output) // Solves every line between start and end (a line may end at end without a newline). The output needs room for 82 bytes per line. Returns the number of puzzles read. 
+    {
+        int count = 0; 
+        int lineStart = start; 
+        for(int i = start; i < end; i++)
+        {
+            if(source.get(i) == '\n')
+            {
+                count += solveLine(source, lineStart, i, output); 
+                lineStart = i + 1; 
+            }
+        }
+        
+        if(lineStart < end)
+        {
+            count += solveLine(source, lineStart, end, output); 
+        }
+        
+        return count; 
+    }
+    
+    private int solveLine(ByteBuffer source, int start, int end, ByteBuffer output) // Parses and solves the line between start and end, writing at most 82 bytes to output. Returns 1 if the line held a puzzle, 0 if it was blank. 
+    {
+        if(end > start && source.get(end - 1) == '\r')
+        {
+            end--; 
+        }
+        if(end == start)
+        {
+            return 0; 
+        }
+        
+        if(!parse(source, start, end, puzzle))
+        {
+            output.put(INVALID_LINE); 
+            return 1; 
+        }
+        
+        int status; 
+        if(checkUniqueness && !givens.load(puzzle))
+        {
+            status = SudokuEngine.INVALID; 
+        }
+        else if(checkUniqueness)
+        {
+            int count = engine.countSolutions(puzzle, 2, solution); 
+            if(count > 1)
+            {
+                output.put(MULTIPLE_LINE); 
+                return 1; 
+            }
+            status = (count == 1) ? SudokuEngine.SOLVED : SudokuEngine.NO_SOLUTION; 
+        }
+        else
+        {
+            status = engine.solve(puzzle, solution); 
+        }
+        
+        if(status == SudokuEngine.SOLVED)
+        {
+            for(int i = 0; i < 81; i++)
+            {
+                output.put((byte) ('0' + solution[i])); 
+            }
+            output.put((byte) '\n'); 
+            solvedCount++; 
+        }
+        else
+        {
+            output.put(status == SudokuEngine.INVALID ? INVALID_LINE : UNSOLVABLE_LINE); 
+        }
+        
+        return 1; 
+    }
+    
+    public static boolean parse(ByteBuffer source, int start, int end, int[] puzzle) // Reads 81 boxes from the bytes between start and end. Accepts 1 - 9, and 0 or . for an empty box. Returns false for any other line. 
+    {
+        if(end - start != 81)
+        {
+            return false; 
+        }
+        
+        for(int i = 0; i < 81; i++)
+        {
+            int c = source.get(start + i); 
+            if(c == '.')
+            {
+                puzzle[i] = 0; 
+            }
+            else if(c >= '0' && c <= '9')
+            {
+                puzzle[i] = c - '0'; 
+            }
+            else
+            {
+                return false; 
+            }
+        }
+        
+        return true; 
+    }
+    
+    private void flush(FileChannel out) throws IOException // Writes everything held in the output buffer to the channel. 
+    {
+        outputBuffer.flip(); 
+        while(outputBuffer.hasRemaining())
+        {
+            out.write(outputBuffer); 
+        }
+        outputBuffer.clear(); 
+    }
+    
+    public static void main(String args[]) throws Exception
+    {
+        if(args.length < 2)
+        {
+            System.out.println("Usage: java SudokuBatch input.txt output.txt [dlx|search|adaptive] [-unique] [-stats]"); 
+            return; 
+        }
+        
+        boolean search = Arrays.asList(args).contains("search"); 
+        boolean unique = Arrays.asList(args).contains("-unique"); 
+        SudokuEngine engine = Arrays.asList(args).contains("adaptive") ? new SudokuDispatcher() : search ? new SudokuSolver() : new DancingLinksSolver(); 
+        SudokuBatch batch = new SudokuBatch(engine, unique); 
+        if(Arrays.asList(args).contains("-stats") && SudokuStats.ENABLED)
+        {
+            SudokuStats.GLOBAL.register(); // So a long run can be watched over JMX as it goes. 
+        }
+        
+        long startTime = System.nanoTime(); 
+        long count = batch.solveFile(Paths.get(args[0]), Paths.get(args[1])); 
+        double seconds = (System.nanoTime() - startTime) / 1e9; 
+        
+        System.out.println((unique ? "Uniquely solved " : "Solved ") + batch.getSolvedCount() + " of " + count + " puzzles in " + String.format("%.3f", seconds) + " s (" + String.format("%.0f", count / seconds) + " puzzles per second)."); 
+        if(Arrays.asList(args).contains("-stats") && SudokuStats.ENABLED)
+        {
+            System.out.println(SudokuStats.GLOBAL.snapshot()); 
+        }
+        if(Arrays.asList(args).contains("-stats") && engine instanceof SudokuDispatcher)
+        {
+            System.out.print(((SudokuDispatcher) engine).getReport()); 
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/**
+ * Benchmarks the solver hot paths, so that a new solver version can be compared with the last one before it is deployed. 
+ * 
+ * Every benchmark is warmed up and then timed over several iterations of a fixed length. Each result shows the mean time per operation, 
+ * the spread between iterations, and the bytes allocated per operation (measured per thread, like a GC profiler would). 
+ * 
+ * Full solves cover examplePuzzle1 - 3 from SudokuMain on every engine, plus easy, medium, and hard corpora of CORPUS_SIZE puzzles each, 
+ * made by SudokuGenerator from a fixed seed: every puzzle has a unique solution and is graded by the hardest technique it needs. 
+ * Micro benchmarks cover fillPossibilities, pointingPairs, runSquares, runRows, runColumns, and checkSquare. fillPossibilities rebuilds the 
+ * candidates from the loaded puzzle, so it is timed on its own. The other techniques change the board and need a freshly loaded one each time, 
+ * so their numbers include one load(); the "load" benchmark gives that cost on its own. 
+ * The "path" benchmarks cover the other ways into SudokuSolver: budgeted, packed, counting, the legacy solve(), and rejecting bad input. 
+ * 
+ * Every solve path is meant to allocate nothing once warmed up; a reused solver owns all of its scratch space. With -allocation, the run 
+ * fails (exit code 1) if any benchmark it ran allocated anything at all in its timed iterations, so a build can catch an allocation creeping 
+ * back into a hot loop. There is no noise floor to allow for: the per-thread counter is exact, reading it allocates nothing (an empty operation 
+ * measures 0 bytes), and JIT compilation allocates on the compiler threads, which are not counted. 
+ * 
+ * The project is built with plain javac and has no build file or third party dependencies, so this harness is a single class rather than a JMH module: 
+ * a JMH module would make Maven and a downloaded JMH the only way to build one tool. It follows JMH's method instead: warm-up iterations, timed 
+ * iterations of fixed length, a volatile sink against dead code elimination, and per-thread allocated bytes per operation, as JMH's GC profiler reports. 
+ * 
+ * Usage: java SudokuBenchmark [name filter] [-csv results.csv] [-allocation]
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.io.*;
+import java.lang.management.*;
+import java.util.*;
+
+public class SudokuBenchmark
+{
+    private static final int WARMUP_ITERATIONS = 5; 
+    private static final int MEASURE_ITERATIONS = 5; 
+    private static final long ITERATION_NANOS = 500_000_000L; // Length of one timed iteration. 
+    private static final int CORPUS_SIZE = 128; // Puzzles per graded corpus, a power of two. 
+    private static final long CORPUS_SEED = 42; 
+    
+    static volatile int sink; // Results are written here so the JIT cannot remove the work being measured. 
+    
+    interface Operation // One benchmarked operation. Returns any value derived from the work done. 
+    {
+        int run(); 
+    }
+    
+    static class Result // Timing and allocation of one benchmark. 
+    {
+        String name; 
+        double nanosPerOp; 
+        double errorNanos; // Half the spread between the fastest and slowest iteration. 
+        double bytesPerOp; 
+    }
+    
+    private static final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean(); 
+    
+    static long allocatedBytes() // Bytes allocated so far by the current thread. 
+    {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId()); 
+    }
+    
+    static Result measure(String name, Operation operation) // Warms the operation up, then times MEASURE_ITERATIONS iterations of it. 
+    {
+        long batch = 1; 
+        for(int i = 0; i < WARMUP_ITERATIONS; i++)
+        {
+            batch = iteration(operation, batch)[3]; 
+        }
+        
+        double[] nanos = new double[MEASURE_ITERATIONS]; 
+        double bytes = 0; 
+        long totalOps = 0; 
+        for(int i = 0; i < MEASURE_ITERATIONS; i++)
+        {
+            long[] counts = iteration(operation, batch); 
+            nanos[i] = (double) counts[1] / counts[0]; 
+            bytes += counts[2]; 
+            totalOps += counts[0]; 
+        }
+        
+        Result result = new Result(); 
+        result.name = name; 
+        double min = Double.MAX_VALUE; 
+        double max = 0; 
+        for(double n : nanos)
+        {
+            result.nanosPerOp += n / MEASURE_ITERATIONS; 
+            min = Math.min(min, n); 
+            max = Math.max(max, n); 
+        }
+        result.errorNanos = (max - min) / 2; 
+        result.bytesPerOp = bytes / totalOps; 
+        return result; 
+    }
+    
+    private static long[] iteration(Operation operation, long batch) // Runs the operation in batches for about ITERATION_NANOS. Returns {operations, nanoseconds, bytes allocated}. 
+    {
+        long ops = 0; 
+        int accumulated = 0; 
+        long bytesBefore = allocatedBytes(); 
+        long start = System.nanoTime(); 
+        long elapsed; 
+        do
+        {
+            for(long i = 0; i < batch; i++)
+            {
+                accumulated += operation.run(); 
+            }
+            ops += batch; 
+            elapsed = System.nanoTime() - start; 
+            if(elapsed < ITERATION_NANOS / 100)
+            {
+                batch *= 2; // Keep the clock reads rare compared to the work. 
+            }
+        }
+        while(elapsed < ITERATION_NANOS); 
+        long bytes = allocatedBytes() - bytesBefore; 
+        sink = accumulated; 
+        return new long[] {ops, elapsed, bytes, batch}; 
+    }
+    
+    static int[][][] corpora(int size, long seed) // Generates puzzles with SudokuGenerator until every grade has size of them. Indexed by SudokuSolver.SINGLES, POINTING_PAIRS, and SEARCH. 
+    {
+        int[][][] corpora = new int[SudokuGenerator.GRADE_NAMES.length][size][]; 
+        int[] counts = new int[corpora.length]; 
+        SudokuGenerator generator = new SudokuGenerator(); 
+        int full = 0; 
+        for(long index = 0; full < corpora.length; index++)
+        {
+            SudokuGenerator.Puzzle generated = generator.generate(SudokuGenerator.random(seed, index)); 
+            int grade = generated.grade; 
+            if(counts[grade] < size)
+            {
+                corpora[grade][counts[grade]++] = generated.puzzle; 
+                full += (counts[grade] == size) ? 1 : 0; 
+            }
+        }
+        return corpora; 
+    }
+    
+    static Operation solveCorpus(SudokuEngine engine, int[][] puzzles) // Solves the puzzles of a corpus one after another, one per operation. 
+    {
+        int[] solution = new int[81]; 
+        int[] next = new int[1]; 
+        return () -> {
+            int[] puzzle = puzzles[next[0]]; 
+            next[0] = (next[0] + 1 == puzzles.length) ? 0 : next[0] + 1; 
+            return engine.solve(puzzle, solution) + solution[80]; 
+        }; 
+    }
+    
+    static List<Object[]> benchmarks() // Every benchmark as {name, operation}. 
+    {
+        List<Object[]> list = new ArrayList<>(); 
+        int[][] examples = {SudokuMain.examplePuzzle1, SudokuMain.examplePuzzle2, SudokuMain.examplePuzzle3}; 
+        SudokuSolver withStrategies = new SudokuSolver(); 
+        withStrategies.setStrategiesInSearch(true); 
+        String[] engineNames = {"search", "dlx", "strategies", "adaptive"}; 
+        SudokuEngine[] engines = {new SudokuSolver(), new DancingLinksSolver(), withStrategies, new SudokuDispatcher()}; 
+        int[][][] corpora = corpora(CORPUS_SIZE, CORPUS_SEED); 
+        
+        for(int e = 0; e < engines.length; e++)
+        {
+            for(int p = 0; p < examples.length; p++)
+            {
+                list.add(new Object[] {"solve." + engineNames[e] + ".examplePuzzle" + (p + 1), solveCorpus(engines[e], new int[][] {examples[p]})}); 
+            }
+            
+            for(int grade = 0; grade < corpora.length; grade++)
+            {
+                list.add(new Object[] {"solve." + engineNames[e] + ".corpus." + SudokuGenerator.GRADE_NAMES[grade], solveCorpus(engines[e], corpora[grade])}); 
+            }
+        }
+        
+        int[][] hard = corpora[SudokuSolver.SEARCH]; 
+        int last = CORPUS_SIZE - 1; 
+        SudokuSolver pathSolver = new SudokuSolver(); 
+        SudokuBudget budget = SudokuBudget.ofNodes(1000000); // Reused: a budget without a deadline never runs out of time. 
+        SudokuResult result = new SudokuResult(); 
+        int[] next = new int[1]; 
+        list.add(new Object[] {"path.budgeted.corpus.hard", (Operation) () -> {
+            int status = pathSolver.solve(hard[next[0]++ & last], budget, result); 
+            return status + result.getValue(80); 
+        }}); 
+        
+        java.nio.ByteBuffer packed = java.nio.ByteBuffer.allocateDirect(CORPUS_SIZE * SudokuPacked.PUZZLE_BYTES); 
+        for(int p = 0; p < CORPUS_SIZE; p++)
+        {
+            SudokuPacked.packPuzzle(hard[p], packed, p * SudokuPacked.PUZZLE_BYTES); 
+        }
+        int[] packedSolution = new int[81]; 
+        list.add(new Object[] {"path.packed.corpus.hard", (Operation) () -> pathSolver.solvePacked(packed, (next[0]++ & last) * SudokuPacked.PUZZLE_BYTES, packedSolution) + packedSolution[80]}); 
+        list.add(new Object[] {"path.countSolutions.corpus.hard", (Operation) () -> pathSolver.countSolutions(hard[next[0]++ & last], 2)}); 
+        
+        int[][] easy = corpora[SudokuSolver.SINGLES]; 
+        list.add(new Object[] {"path.legacy.corpus.easy", (Operation) () -> {
+            pathSolver.load(easy[next[0]++ & last]); 
+            pathSolver.solve(); 
+            return pathSolver.sumPossibilities(0, 0); 
+        }}); 
+        
+        int[][] rejected = new int[4][]; // A repeated given, an out of range value, an empty box without possibilities, and a number without a place. 
+        for(int r = 0; r < 4; r++)
+        {
+            rejected[r] = new int[81]; 
+        }
+        rejected[0][0] = rejected[0][1] = 1; 
+        rejected[1][40] = 12; 
+        for(int i = 0; i < 8; i++)
+        {
+            rejected[2][i] = i + 1; // 1 - 8 across the first row, with 9 below its last box. 
+            rejected[3][9 + i] = (i < 6) ? i + 1 : 0; // 1 - 6 across the second row, with 9 in the square that holds the rest of it. 
+        }
+        rejected[2][17] = 9; 
+        rejected[3][26] = 9; 
+        int[] rejectedSolution = new int[81]; 
+        list.add(new Object[] {"path.rejected", (Operation) () -> pathSolver.solve(rejected[next[0]++ & 3], rejectedSolution) + pathSolver.getReason()}); 
+        
+        SudokuSolver solver = new SudokuSolver(); 
+        int[] puzzle = SudokuMain.examplePuzzle3; 
+        list.add(new Object[] {"technique.load", (Operation) () -> { solver.load(puzzle); return solver.sumPossibilities(0, 0); }}); 
+        SudokuSolver filled = new SudokuSolver(); 
+        filled.load(puzzle); 
+        list.add(new Object[] {"technique.fillPossibilities", (Operation) () -> { filled.fillPossibilities(); return filled.sumPossibilities(0, 0); }}); 
+        list.add(new Object[] {"technique.pointingPairs", (Operation) () -> { solver.load(puzzle); solver.pointingPairs(); return solver.sumPossibilities(0, 0); }}); 
+        list.add(new Object[] {"technique.runSquares", (Operation) () -> { solver.load(puzzle); solver.runSquares(); return solver.sumPossibilities(0, 0); }}); 
+        list.add(new Object[] {"technique.runRows", (Operation) () -> { solver.load(puzzle); solver.runRows(); return solver.sumPossibilities(0, 0); }}); 
+        list.add(new Object[] {"technique.runColumns", (Operation) () -> { solver.load(puzzle); solver.runColumns(); return solver.sumPossibilities(0, 0); }}); 
+        
+        SudokuSolver loaded = new SudokuSolver(); 
+        loaded.load(puzzle); 
+        list.add(new Object[] {"technique.checkSquare", (Operation) () -> {
+            int found = 0; 
+            for(int box = 0; box < 81; box++)
+            {
+                found += loaded.checkSquare(box / 9, box % 9, 1 + (box % 9)) ? 1 : 0; 
+            }
+            return found; 
+        }}); 
+        
+        return list; 
+    }
+    
+    public static void main(String args[]) throws Exception
+    {
+        String filter = ""; 
+        String csv = null; 
+        boolean checkAllocation = false; 
+        for(int i = 0; i < args.length; i++)
+        {
+            if(args[i].equals("-csv") && i + 1 < args.length)
+            {
+                csv = args[++i]; 
+            }
+            else if(args[i].equals("-allocation"))
+            {
+                checkAllocation = true; 
+            }
+            else
+            {
+                filter = args[i]; 
+            }
+        }
+        
+        List<Result> results = new ArrayList<>(); 
+        System.out.println(String.format("%-40s %14s %12s %12s", "Benchmark", "ns/op", "error", "B/op")); 
+        for(Object[] benchmark : benchmarks())
+        {
+            String name = (String) benchmark[0]; 
+            if(name.contains(filter))
+            {
+                Result result = measure(name, (Operation) benchmark[1]); 
+                results.add(result); 
+                System.out.println(String.format("%-40s %14.1f %12.1f %12.1f", name, result.nanosPerOp, result.errorNanos, result.bytesPerOp)); 
+            }
+        }
+        
+        if(csv != null)
+        {
+            try(PrintWriter writer = new PrintWriter(new FileWriter(csv)))
+            {
+                writer.println("benchmark,ns_per_op,error_ns,bytes_per_op"); 
+                for(Result result : results)
+                {
+                    writer.println(result.name + "," + result.nanosPerOp + "," + result.errorNanos + "," + result.bytesPerOp); 
+                }
+            }
+        }
+        
+        if(checkAllocation)
+        {
+            int allocating = 0; 
+            for(Result result : results)
+            {
+                if(result.bytesPerOp > 0)
+                {
+                    System.out.println("Allocates " + String.format("%.3g", result.bytesPerOp) + " bytes per operation: " + result.name); 
+                    allocating++; 
+                }
+            }
+            if(allocating > 0)
+            {
+                System.exit(1); 
+            }
+            System.out.println("No benchmark allocates in steady state."); 
+        }
+    }
+}
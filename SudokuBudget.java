@@ -0,0 +1,68 @@
+/**
+ * Limits on a single solve: a deadline, a maximum number of search nodes (guesses), or both, plus a flag another thread can raise to cancel it.
+ *
+ * The solver checks the budget before every guess. The node limit and the cancel flag are checked every time; the clock is only read every
+ * CLOCK_INTERVAL guesses, so a check costs a comparison and a volatile read. Propagation between two guesses places at most 81 numbers,
+ * so the deadline is overrun by at most CLOCK_INTERVAL guesses' worth of work (tens of microseconds).
+ *
+ * A budget belongs to one solve at a time, but cancel() may be called from any thread.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public class SudokuBudget
+{
+    public static final int CLOCK_INTERVAL = 16; // Guesses between two reads of the clock; a power of two.
+
+    private final boolean timed;
+    private final long deadline; // System.nanoTime() at which the budget runs out, if timed.
+    private final long maxNodes;
+    private volatile boolean cancelled;
+
+    private SudokuBudget(boolean timed, long deadline, long maxNodes)
+    {
+        this.timed = timed;
+        this.deadline = deadline;
+        this.maxNodes = (maxNodes > 0) ? maxNodes : Long.MAX_VALUE;
+    }
+
+    public static SudokuBudget unlimited() // Never runs out; only cancel() stops the solve.
+    {
+        return new SudokuBudget(false, 0, 0);
+    }
+
+    public static SudokuBudget ofMillis(long millis) // Runs out millis milliseconds from now.
+    {
+        return until(System.nanoTime() + millis * 1000000, 0);
+    }
+
+    public static SudokuBudget ofNodes(long maxNodes) // Runs out after maxNodes guesses.
+    {
+        return new SudokuBudget(false, 0, maxNodes);
+    }
+
+    public static SudokuBudget until(long deadlineNanos, long maxNodes) // Runs out at deadlineNanos (System.nanoTime()) or after maxNodes guesses (0 for no limit), whichever comes first.
+    {
+        return new SudokuBudget(true, deadlineNanos, maxNodes);
+    }
+
+    public void cancel() // Asks the solve using this budget to stop at its next guess.
+    {
+        cancelled = true;
+    }
+
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    boolean isExhausted(long nodes) // Called by the solver before a guess, with the number of guesses made so far.
+    {
+        if(nodes >= maxNodes || cancelled)
+        {
+            return true;
+        }
+        return timed && (nodes & (CLOCK_INTERVAL - 1)) == 0 && System.nanoTime() - deadline >= 0;
+    }
+}
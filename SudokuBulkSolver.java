@@ -0,0 +1,118 @@
+/**
+ * Solves puzzles in groups. create() picks the fastest version this JVM can run: SudokuVectorBulkSolver, a SudokuLaneBulkSolver whose passes
+ * use the Vector API (in vector/, built with --add-modules jdk.incubator.vector), with as many lanes as the hardware's preferred vector has ints,
+ * when it can be loaded, and SudokuSequentialBulkSolver otherwise. A single puzzle (solve()) fills only one lane, so it always goes to SudokuSolver;
+ * there is no single board vector path.
+ *
+ * The passes make the most difference for puzzles that singles finish (about twice SudokuSolver's throughput); where search does most of the work,
+ * they save only a little of it, and the two run about level. That is once the vector code has been compiled, which takes far longer than for plain
+ * code: a single run over a file of tens of thousands of puzzles still finishes behind SudokuBatch, so the lanes pay off in a long running process.
+ *
+ * Usage: java [--add-modules jdk.incubator.vector] SudokuBulkSolver input.txt output.txt
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+public abstract class SudokuBulkSolver implements SudokuEngine
+{
+    protected final SudokuSolver finisher = new SudokuSolver();
+
+    public static SudokuBulkSolver create() // The Vector API version if it is on the class path and jdk.incubator.vector is available, the one at a time version otherwise.
+    {
+        try
+        {
+            return (SudokuBulkSolver) Class.forName("SudokuVectorBulkSolver").getDeclaredConstructor().newInstance();
+        }
+        catch(ReflectiveOperationException | LinkageError e)
+        {
+            return new SudokuSequentialBulkSolver();
+        }
+    }
+
+    public abstract String getImplementation();
+
+    public abstract int getLanes(); // Puzzles handled per group.
+
+    public int solve(int[] puzzle, int[] solution) // A single puzzle gains nothing from the lanes, so it goes straight to the scalar solver.
+    {
+        return finisher.solve(puzzle, solution);
+    }
+
+    public int countSolutions(int[] puzzle, int limit, int[] firstSolution)
+    {
+        return finisher.countSolutions(puzzle, limit, firstSolution);
+    }
+
+    public abstract int solveAll(int[][] puzzles, int count, int[][] solutions, int[] statuses); // Solves the first count puzzles into solutions, with each status in statuses. Returns the number solved.
+
+    public static void main(String args[]) throws Exception
+    {
+        if(args.length < 2)
+        {
+            System.out.println("Usage: java [--add-modules jdk.incubator.vector] SudokuBulkSolver input.txt output.txt");
+            return;
+        }
+
+        List<int[]> list = new ArrayList<>(); // One puzzle for every line SudokuBatch answers, so the outputs line up.
+        ByteBuffer line = ByteBuffer.allocate(81);
+        for(String text : Files.readAllLines(Paths.get(args[0]), StandardCharsets.US_ASCII))
+        {
+            if(text.isEmpty())
+            {
+                continue; // Blank lines give no output line in SudokuBatch either.
+            }
+            int[] puzzle = new int[81];
+            boolean valid = text.length() == 81;
+            if(valid)
+            {
+                for(int i = 0; i < 81; i++)
+                {
+                    line.put(i, (byte) text.charAt(i));
+                }
+                valid = SudokuBatch.parse(line, 0, 81, puzzle);
+            }
+            if(!valid)
+            {
+                puzzle[0] = -1; // Reported invalid.
+            }
+            list.add(puzzle);
+        }
+        int[][] puzzles = list.toArray(new int[0][]);
+        int[][] solutions = new int[puzzles.length][81];
+        int[] statuses = new int[puzzles.length];
+
+        SudokuBulkSolver solver = create();
+        long startTime = System.nanoTime();
+        int solved = solver.solveAll(puzzles, puzzles.length, solutions, statuses);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        try(PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.US_ASCII)))
+        {
+            for(int p = 0; p < puzzles.length; p++)
+            {
+                if(statuses[p] == SOLVED)
+                {
+                    StringBuilder text = new StringBuilder(81);
+                    for(int box = 0; box < 81; box++)
+                    {
+                        text.append((char) ('0' + solutions[p][box]));
+                    }
+                    out.println(text);
+                }
+                else
+                {
+                    out.println(statuses[p] == INVALID ? "invalid" : "unsolvable");
+                }
+            }
+        }
+        System.out.println("Solved " + solved + " of " + puzzles.length + " puzzles with the " + solver.getImplementation() + " engine (" + solver.getLanes() + " lanes) in "
+            + String.format("%.3f", seconds) + " s (" + String.format("%.0f", puzzles.length / seconds) + " puzzles per second).");
+    }
+}
@@ -0,0 +1,384 @@
+/**
+ * Bitmask candidate engine used by the Sudoku solver. Terminology follows SudokuSolver -> box: an individual spot, square: one of the nine 3 x 3 grids.
+ *
+ * Every row, column, and square keeps a 9-bit occupancy mask where bit (num - 1) is set once num has been placed in it.
+ * Every box keeps its candidates as a 9-bit set in a short, where bit (num - 1) is set if num can still go in that box.
+ * Boxes are numbered row * 9 + column, and rows, columns, squares, and peers all come from SudokuTables.
+ *
+ * Placing a number updates the three masks in constant time and clears the number from the candidates of the 20 boxes that share a row, column, or square with it.
+ *
+ * Every change is recorded on an undo trail, so a search can take a mark(), try a number, and undo(mark) back to the same state without copying the board.
+ *
+ * Changes also feed the propagation work queue: each changed box marks its three units dirty, and a box that is left with a single candidate is queued.
+ * Propagation then only looks at what changed, instead of rescanning the whole board.
+ *
+ * The first thing found wrong since the last load or undo is kept as a SudokuResult reason (see getReason()): a puzzle without 81 boxes or a bad given while loading,
+ * an empty box left without candidates, or a number reported by the solver as having no place left in a unit.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.nio.*;
+
+public class SudokuCandidates
+{
+    public static final int ALL = 0x1FF; // All nine candidate bits set.
+
+    private final int[] rowMask = new int[9]; // Numbers already placed in each row.
+    private final int[] columnMask = new int[9]; // Numbers already placed in each column.
+    private final int[] squareMask = new int[9]; // Numbers already placed in each square, squares are numbered left to right, top to bottom.
+    private final short[] boxCandidates = new short[81]; // Candidate bitset of each box. A filled box holds 0.
+    private final int[] values = new int[81]; // Number placed in each box, 0 if empty.
+    private int emptyCount; // Number of boxes that are still empty.
+    private boolean contradiction; // Set once an empty box has no candidates left, or a number has no place left in a unit.
+    private int reason; // SudokuResult reason for the first bad given or contradiction, NO_REASON if there is none.
+    private int reasonBox; // Box, unit, and number involved, -1, -1, and 0 where they do not apply.
+    private int reasonUnit;
+    private int reasonNumber;
+
+    private static final int PLACED = 1 << 16; // Marks a trail entry that undoes a placement rather than a candidate change.
+    private final int[] trail = new int[1024]; // Undo trail. Candidate change: (box << 9) | old candidates. Placement: PLACED | (box << 9) | num.
+    private int trailSize; // Along one line of search every entry removes a candidate or fills a box, so 2 * 81 + 729 entries is the most it can hold.
+
+    private int dirtyUnits; // Units (27-bit mask, numbered as in SudokuTables) whose boxes changed since takeDirtyUnits() was last called.
+    private final int[] singles = new int[81]; // Boxes that have been left with exactly one candidate, waiting to be placed.
+    private int singleCount; // Candidates only shrink between undos, so each box is queued at most once and 81 entries are enough.
+
+    public SudokuCandidates()
+    {
+        reset();
+    }
+
+    public void reset() // Empties the board so that every box has all nine numbers as candidates.
+    {
+        for(int i = 0; i < 9; i++)
+        {
+            rowMask[i] = 0;
+            columnMask[i] = 0;
+            squareMask[i] = 0;
+        }
+
+        for(int i = 0; i < 81; i++)
+        {
+            boxCandidates[i] = (short) ALL;
+            values[i] = 0;
+        }
+
+        emptyCount = 81;
+        contradiction = false;
+        clearReason();
+        trailSize = 0;
+        dirtyUnits = 0;
+        singleCount = 0;
+    }
+
+    public boolean load(int[] puzzle) // Resets the engine and places every given number of an 81 number puzzle. Returns false if a given is out of range or conflicts with an earlier one (it is skipped), or if the puzzle does not have 81 boxes (nothing is placed).
+    {
+        reset();
+        if(puzzle.length != 81)
+        {
+            setReason(SudokuResult.WRONG_LENGTH, -1, -1, puzzle.length);
+            return false;
+        }
+        boolean valid = true;
+        for(int box = 0; box < 81; box++)
+        {
+            int num = puzzle[box];
+            if(num != 0 && !placeGiven(box, num))
+            {
+                valid = false;
+            }
+        }
+
+        trailSize = 0; // The givens are never undone.
+        queueEverything();
+        return valid;
+    }
+
+    public boolean loadPacked(ByteBuffer source, int position) // Same as load(), for a puzzle packed two boxes per byte as in SudokuPacked. Returns false if a given conflicts or is above 9, or if the buffer ends before the puzzle does.
+    {
+        reset();
+        if(position < 0 || source.limit() - position < SudokuPacked.PUZZLE_BYTES)
+        {
+            setReason(SudokuResult.WRONG_LENGTH, -1, -1, Math.max(Math.min(source.limit() - position, SudokuPacked.PUZZLE_BYTES), 0) * 2);
+            return false;
+        }
+        boolean valid = true;
+        for(int box = 0; box < 81; box++)
+        {
+            int b = source.get(position + (box >> 1));
+            int num = ((box & 1) == 0) ? (b >> 4) & 0xF : b & 0xF;
+            if(num != 0 && !placeGiven(box, num))
+            {
+                valid = false;
+            }
+        }
+
+        trailSize = 0;
+        queueEverything();
+        return valid;
+    }
+
+    private boolean placeGiven(int box, int num) // Places a given while loading. Returns false, recording why, if it is out of range or already given in one of its units.
+    {
+        if(num < 0 || num > 9)
+        {
+            invalidGiven(SudokuResult.OUT_OF_RANGE, box, -1, num);
+            return false;
+        }
+        if(!place(box, num))
+        {
+            int unit = rowHas(SudokuTables.ROW[box], num) ? SudokuTables.ROW_UNITS + SudokuTables.ROW[box]
+                : columnHas(SudokuTables.COLUMN[box], num) ? SudokuTables.COLUMN_UNITS + SudokuTables.COLUMN[box]
+                : SudokuTables.SQUARE_UNITS + SudokuTables.SQUARE[box];
+            invalidGiven(SudokuResult.REPEATED_GIVEN, box, unit, num);
+            return false;
+        }
+        return true;
+    }
+
+    private void invalidGiven(int reason, int box, int unit, int num) // A bad given outranks any contradiction found earlier in the load.
+    {
+        if(this.reason == SudokuResult.NO_REASON || this.reason > SudokuResult.REPEATED_GIVEN)
+        {
+            setReason(reason, box, unit, num);
+        }
+    }
+
+    private void setReason(int reason, int box, int unit, int num)
+    {
+        this.reason = reason;
+        reasonBox = box;
+        reasonUnit = unit;
+        reasonNumber = num;
+    }
+
+    private void clearReason()
+    {
+        setReason(SudokuResult.NO_REASON, -1, -1, 0);
+    }
+
+    private void queueEverything() // Marks every unit dirty and queues every single, so the next propagation looks at the whole board once.
+    {
+        dirtyUnits = (1 << 27) - 1;
+        singleCount = 0;
+        for(int box = 0; box < 81; box++)
+        {
+            int candidates = boxCandidates[box];
+            if(candidates != 0 && (candidates & (candidates - 1)) == 0)
+            {
+                singles[singleCount++] = box;
+            }
+        }
+    }
+
+    public void copyFrom(SudokuCandidates other) // Makes this engine an independent copy of another one. The copy starts with an empty undo trail.
+    {
+        System.arraycopy(other.rowMask, 0, rowMask, 0, 9);
+        System.arraycopy(other.columnMask, 0, columnMask, 0, 9);
+        System.arraycopy(other.squareMask, 0, squareMask, 0, 9);
+        System.arraycopy(other.boxCandidates, 0, boxCandidates, 0, 81);
+        System.arraycopy(other.values, 0, values, 0, 81);
+        emptyCount = other.emptyCount;
+        contradiction = other.contradiction;
+        setReason(other.reason, other.reasonBox, other.reasonUnit, other.reasonNumber);
+        trailSize = 0;
+        queueEverything();
+    }
+
+    public boolean place(int box, int num) // Places num in the box if it is still a candidate there. Returns false and changes nothing otherwise.
+    {
+        int bit = 1 << (num - 1);
+        if((boxCandidates[box] & bit) == 0)
+        {
+            return false;
+        }
+
+        trail[trailSize++] = (box << 9) | boxCandidates[box];
+        trail[trailSize++] = PLACED | (box << 9) | num;
+        values[box] = num;
+        boxCandidates[box] = 0;
+        emptyCount--;
+        dirtyUnits |= SudokuTables.UNIT_BITS[box];
+
+        rowMask[SudokuTables.ROW[box]] |= bit;
+        columnMask[SudokuTables.COLUMN[box]] |= bit;
+        squareMask[SudokuTables.SQUARE[box]] |= bit;
+
+        for(int p = box * 20; p < box * 20 + 20; p++)
+        {
+            clearBit(SudokuTables.PEERS[p], bit);
+        }
+
+        return true;
+    }
+
+    private void clearBit(int box, int bit) // Removes a candidate bit from a box, recording the change on the trail.
+    {
+        int old = boxCandidates[box];
+        if((old & bit) != 0)
+        {
+            trail[trailSize++] = (box << 9) | old;
+            int left = old & ~bit;
+            boxCandidates[box] = (short) left;
+            dirtyUnits |= SudokuTables.UNIT_BITS[box];
+            if(left == 0)
+            {
+                if(!contradiction)
+                {
+                    setReason(SudokuResult.EMPTY_BOX, box, -1, Integer.numberOfTrailingZeros(bit) + 1);
+                }
+                contradiction = true;
+            }
+            else if((left & (left - 1)) == 0 && singleCount < 81)
+            {
+                singles[singleCount++] = box;
+            }
+        }
+    }
+
+    public void clearTrail() // Makes every change so far permanent, so the trail never fills up on a state that is edited instead of searched (see SudokuSession).
+    {
+        trailSize = 0;
+    }
+
+    public boolean eliminate(int box, int num) // Removes num from the candidates of a box. Returns true if it was a candidate.
+    {
+        int bit = 1 << (num - 1);
+        if((boxCandidates[box] & bit) == 0)
+        {
+            return false;
+        }
+
+        clearBit(box, bit);
+        return true;
+    }
+
+    public void noPlace(int unit, int num) // Records that num has no place left in the unit, found by the solver's hidden single scan. The state is then a contradiction.
+    {
+        if(!contradiction)
+        {
+            setReason(SudokuResult.NO_PLACE, -1, unit, num);
+        }
+        contradiction = true;
+    }
+
+    public int mark() // Returns the current position of the undo trail.
+    {
+        return trailSize;
+    }
+
+    public void undo(int mark) // Rolls every placement and elimination back to a position returned by mark().
+    {
+        while(trailSize > mark)
+        {
+            int entry = trail[--trailSize];
+            int box = (entry >> 9) & 0x7F;
+            if((entry & PLACED) != 0)
+            {
+                int bit = 1 << ((entry & 0xF) - 1);
+                rowMask[SudokuTables.ROW[box]] &= ~bit;
+                columnMask[SudokuTables.COLUMN[box]] &= ~bit;
+                squareMask[SudokuTables.SQUARE[box]] &= ~bit;
+                values[box] = 0;
+                emptyCount++;
+            }
+            else
+            {
+                boxCandidates[box] = (short) (entry & ALL);
+            }
+        }
+
+        contradiction = false; // Marks are only taken in states without a contradiction.
+        clearReason();
+        dirtyUnits = 0; // ... and after propagation has finished, so nothing is left to do for the restored state.
+        singleCount = 0;
+    }
+
+    public int takeDirtyUnits() // Returns the units that changed since the last call, and clears them.
+    {
+        int dirty = dirtyUnits;
+        dirtyUnits = 0;
+        return dirty;
+    }
+
+    public int pollSingle() // Returns the next box queued with a single candidate, or -1 if there is none. The box may have been filled or emptied since it was queued.
+    {
+        return (singleCount == 0) ? -1 : singles[--singleCount];
+    }
+
+    public boolean hasContradiction() // Returns true if some empty box has been left without any candidates.
+    {
+        return contradiction;
+    }
+
+    public int getReason() // Returns the SudokuResult reason for the first bad given or contradiction, NO_REASON if there is none.
+    {
+        return reason;
+    }
+
+    public int getReasonBox() // Box involved in the reason, -1 if none.
+    {
+        return reasonBox;
+    }
+
+    public int getReasonUnit() // Unit involved in the reason, numbered as in SudokuTables, -1 if none.
+    {
+        return reasonUnit;
+    }
+
+    public int getReasonNumber() // Number involved in the reason, 0 if none.
+    {
+        return reasonNumber;
+    }
+
+    public int getCandidates(int box) // Returns the candidate bitset of a box.
+    {
+        return boxCandidates[box];
+    }
+
+    public int countCandidates(int box) // Returns the number of candidates a box has left (popcount of its bitset).
+    {
+        return Integer.bitCount(boxCandidates[box]);
+    }
+
+    public boolean isCandidate(int box, int num) // Returns true if num can still go in the box.
+    {
+        return (boxCandidates[box] & (1 << (num - 1))) != 0;
+    }
+
+    public int getValue(int box) // Returns the number placed in a box, 0 if empty.
+    {
+        return values[box];
+    }
+
+    public int getUnitMask(int unit) // Returns the numbers placed in a unit, numbered as in SudokuTables.
+    {
+        if(unit < SudokuTables.COLUMN_UNITS)
+        {
+            return rowMask[unit];
+        }
+        return (unit < SudokuTables.SQUARE_UNITS) ? columnMask[unit - SudokuTables.COLUMN_UNITS] : squareMask[unit - SudokuTables.SQUARE_UNITS];
+    }
+
+    public boolean rowHas(int row, int num) // Returns true if num has been placed in the row.
+    {
+        return (rowMask[row] & (1 << (num - 1))) != 0;
+    }
+
+    public boolean columnHas(int column, int num) // Returns true if num has been placed in the column.
+    {
+        return (columnMask[column] & (1 << (num - 1))) != 0;
+    }
+
+    public boolean squareHas(int box, int num) // Returns true if num has been placed in the square containing the box.
+    {
+        return (squareMask[SudokuTables.SQUARE[box]] & (1 << (num - 1))) != 0;
+    }
+
+    public int getEmptyCount() // Returns the number of boxes that are still empty.
+    {
+        return emptyCount;
+    }
+}
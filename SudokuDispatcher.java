@@ -0,0 +1,203 @@
+/**
+ * Picks an engine for each puzzle from a few cheap features of the puzzle, learning from the measured cost of each choice which engine suits which puzzles.
+ *
+ * There are three routes. LOGIC runs SudokuSolver with every SudokuStrategy in its propagation, so it deduces the most and guesses the least.
+ * LOGIC_SEARCH runs SudokuSolver as it comes: singles and pointing pairs, then search. SEARCH hands the puzzle straight to DancingLinksSolver.
+ *
+ * The features come from loading the puzzle into a SudokuCandidates, which the logic routes then solve from directly:
+ * the number of clues, how many empty boxes are down to one or two candidates, and whether any row, column, or square has no clues at all.
+ * Together they put the puzzle in one of BUCKETS buckets. Every bucket keeps a moving average of the time each route takes there.
+ * A new bucket tries every route WARMUP times; from then on it takes the cheapest, except that every EXPLORE_INTERVAL-th puzzle tries one of the others,
+ * so the averages follow the traffic as it changes. The split between routes is therefore learned per bucket rather than set by fixed thresholds.
+ *
+ * Puzzles held by the SudokuSolutionStore set on SudokuSolver are answered from it before any of this, and are not counted.
+ *
+ * Like the other engines, a dispatcher is used by one thread at a time; give each thread its own. getReport() shows what it has learned.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public class SudokuDispatcher implements SudokuEngine
+{
+    public static final int LOGIC = 0;
+    public static final int LOGIC_SEARCH = 1;
+    public static final int SEARCH = 2;
+    public static final int ROUTES = 3;
+    public static final int STORE = -1; // getLastRoute() when the solution store answered, so no route ran.
+    public static final String[] ROUTE_NAMES = {"logic", "logic+search", "search"};
+
+    public static final int BUCKETS = 16; // Four clue bands, times many or few tight boxes, times with or without an empty unit.
+    private static final int WARMUP = 8; // Solves each route gets in a bucket before the costs are compared.
+    private static final int EXPLORE_INTERVAL = 64; // One solve in this many goes to a route other than the cheapest.
+    private static final double DECAY = 1.0 / 32; // Weight of the newest cost in a moving average.
+    private static final double OUTLIER = 8; // Costs are capped at this many times the average, so a GC pause does not swing a route.
+
+    private final SudokuCandidates state = new SudokuCandidates();
+    private final SudokuSolver logic = new SudokuSolver(state); // Solves straight from state, so the puzzle is only loaded once.
+    private final DancingLinksSolver search = new DancingLinksSolver();
+
+    private final double[] cost = new double[BUCKETS * ROUTES]; // Moving average of nanoseconds per solve, by bucket and route.
+    private final long[] samples = new long[BUCKETS * ROUTES]; // Solves measured, by bucket and route.
+    private final long[] solves = new long[BUCKETS];
+    private int lastBucket;
+    private int lastRoute;
+
+    public int solve(int[] puzzle, int[] solution)
+    {
+        long start = System.nanoTime();
+        SudokuSolutionStore store = SudokuSolver.getSolutionStore();
+        int found = (store != null) ? store.lookup(puzzle, solution) : SudokuSolutionStore.MISSING;
+        if(found == SOLVED && !state.load(solution))
+        {
+            found = SudokuSolutionStore.MISSING; // A stored grid that repeats a number is solved again rather than trusted.
+        }
+        if(found != SudokuSolutionStore.MISSING)
+        {
+            if(found == NO_SOLUTION)
+            {
+                System.arraycopy(puzzle, 0, solution, 0, 81); // The store only holds valid puzzles, so this board is the givens.
+            }
+            lastRoute = STORE;
+            return found;
+        }
+        if(!state.load(puzzle))
+        {
+            getBoard(solution);
+            return INVALID;
+        }
+
+        int bucket = bucket();
+        int route = route(bucket);
+        int status;
+        if(route == SEARCH)
+        {
+            status = search.solve(puzzle, solution);
+        }
+        else
+        {
+            logic.setStrategiesInSearch(route == LOGIC);
+            status = logic.solveWithSearch() ? SOLVED : NO_SOLUTION;
+            getBoard(solution);
+        }
+
+        record(bucket, route, System.nanoTime() - start);
+        lastBucket = bucket;
+        lastRoute = route;
+        return status;
+    }
+
+    public int countSolutions(int[] puzzle, int limit, int[] firstSolution) // Counting always explores every branch, so there is nothing to choose; it goes to SudokuSolver.
+    {
+        logic.setStrategiesInSearch(false);
+        return logic.countSolutions(puzzle, limit, firstSolution);
+    }
+
+    private void getBoard(int[] solution)
+    {
+        for(int box = 0; box < 81; box++)
+        {
+            solution[box] = state.getValue(box);
+        }
+    }
+
+    int bucket() // The bucket of the puzzle loaded in state.
+    {
+        int clues = 81 - state.getEmptyCount();
+        int band = (clues < 25) ? 0 : (clues < 30) ? 1 : (clues < 36) ? 2 : 3;
+
+        int tight = 0; // Empty boxes with one or two candidates.
+        for(int box = 0; box < 81; box++)
+        {
+            int count = state.countCandidates(box);
+            if(count != 0 && count <= 2)
+            {
+                tight++;
+            }
+        }
+        boolean manyTight = tight * 8 >= state.getEmptyCount();
+
+        boolean emptyUnit = false;
+        for(int unit = 0; unit < 27 && !emptyUnit; unit++)
+        {
+            emptyUnit = state.getUnitMask(unit) == 0;
+        }
+
+        return band * 4 + (manyTight ? 2 : 0) + (emptyUnit ? 1 : 0);
+    }
+
+    int route(int bucket) // Chooses the route for the next puzzle in a bucket.
+    {
+        long n = solves[bucket]++;
+        int first = bucket * ROUTES;
+        int best = 0;
+        for(int route = 0; route < ROUTES; route++)
+        {
+            if(samples[first + route] < WARMUP)
+            {
+                return route;
+            }
+            if(cost[first + route] < cost[first + best])
+            {
+                best = route;
+            }
+        }
+
+        if(n % EXPLORE_INTERVAL == 0)
+        {
+            return (best + 1 + (int) ((n / EXPLORE_INTERVAL) % (ROUTES - 1))) % ROUTES; // Each of the other routes in turn.
+        }
+        return best;
+    }
+
+    private void record(int bucket, int route, long nanos)
+    {
+        int i = bucket * ROUTES + route;
+        if(samples[i]++ == 0)
+        {
+            cost[i] = nanos;
+        }
+        else
+        {
+            cost[i] += (Math.min(nanos, OUTLIER * cost[i]) - cost[i]) * DECAY;
+        }
+    }
+
+    public int getLastRoute() // The route taken by the last solve, STORE if the solution store answered it.
+    {
+        return lastRoute;
+    }
+
+    public int getLastBucket()
+    {
+        return lastBucket;
+    }
+
+    public double getCost(int bucket, int route) // Average nanoseconds per solve of a route in a bucket, 0 before it has been tried.
+    {
+        return cost[bucket * ROUTES + route];
+    }
+
+    public String getReport() // One line per bucket that has seen puzzles: its features, its solves, and the average cost of each route.
+    {
+        String[] bands = {"<25", "25-29", "30-35", "36+"};
+        StringBuilder text = new StringBuilder();
+        for(int bucket = 0; bucket < BUCKETS; bucket++)
+        {
+            if(solves[bucket] == 0)
+            {
+                continue;
+            }
+            text.append("clues ").append(bands[bucket / 4]).append(((bucket & 2) != 0) ? ", many tight" : ", few tight")
+                .append(((bucket & 1) != 0) ? ", empty unit" : "").append(": ").append(solves[bucket]).append(" solves");
+            for(int route = 0; route < ROUTES; route++)
+            {
+                int i = bucket * ROUTES + route;
+                text.append(", ").append(ROUTE_NAMES[route]).append(' ')
+                    .append((samples[i] == 0) ? "-" : String.format("%.1f us (%d)", cost[i] / 1e3, samples[i]));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+}
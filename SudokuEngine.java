@@ -0,0 +1,24 @@
+/**
+ * Common interface for the Sudoku solving engines, so that a caller can pick the engine that suits its workload.
+ * 
+ * SudokuSolver solves with the logical techniques and only searches once they get stuck. DancingLinksSolver solves every puzzle as an exact cover problem, 
+ * so its running time does not depend on which techniques happen to apply. 
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public interface SudokuEngine
+{
+    int SOLVED = 0; // The solution array holds the completed board. 
+    int NO_SOLUTION = 1; // The puzzle was proven to have no solution. 
+    int INVALID = 2; // Two givens repeat a number in the same row, column, or square. 
+    int BUDGET_EXCEEDED = 3; // Budgeted solves only (see SudokuBudget): the deadline or node limit was reached first. 
+    int CANCELLED = 4; // Budgeted solves only: SudokuBudget.cancel() was called. 
+    
+    int solve(int[] puzzle, int[] solution); // Solves an 81 number puzzle (0 indicates an empty box) and writes the completed board into solution. Returns one of the status codes above. 
+    
+    int countSolutions(int[] puzzle, int limit, int[] firstSolution); // Counts the solutions of a puzzle, stopping as soon as limit have been found (a limit of 2 checks for a unique solution). 
+                                                                      // firstSolution (may be null) receives the first solution found. Conflicting givens have 0 solutions. 
+                                                                      // Throws IllegalArgumentException if limit is below 1. 
+}
@@ -0,0 +1,215 @@
+/**
+ * Generates graded Sudoku puzzles with a unique solution. 
+ * 
+ * Each puzzle starts from a random solution grid: the three squares on the diagonal are filled with random permutations (they share no row, column, 
+ * or square, so any permutations work) and the rest of the grid is completed by the solver. Clues are then removed in random order, 
+ * keeping only removals after which countSolutions() still finds exactly one solution. 
+ * 
+ * Puzzles are graded by the hardest technique SudokuSolver needs: singles only (easy), pointing pairs (medium), or search (hard), 
+ * together with the number of guesses the search made. 
+ * 
+ * Generation runs on a pool of threads, each with its own solver. Puzzle number i always uses a random generator seeded from (seed, i), 
+ * so the same seed gives the same corpus whatever the thread count. 
+ * 
+ * Usage: java SudokuGenerator count seed outputPrefix [threads] 
+ * writes outputPrefix-easy.txt, outputPrefix-medium.txt and outputPrefix-hard.txt, one puzzle per line, so SudokuBatch and the other tools read them as they are. 
+ * The number of guesses of each puzzle goes on the same line of outputPrefix-easy-nodes.txt, outputPrefix-medium-nodes.txt, or outputPrefix-hard-nodes.txt. 
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class SudokuGenerator
+{
+    public static final String[] GRADE_NAMES = {"easy", "medium", "hard"}; // Indexed by SudokuSolver.SINGLES, POINTING_PAIRS, SEARCH. 
+    private static final int BLOCK = 4096; // Puzzles generated between two writes to the output files. 
+    
+    private final SudokuSolver solver = new SudokuSolver(); 
+    private final int[] order = new int[81]; 
+    
+    public static class Puzzle // A generated puzzle with its solution and grade. 
+    {
+        public final int[] puzzle = new int[81]; 
+        public final int[] solution = new int[81]; 
+        public int grade; // SudokuSolver.SINGLES, POINTING_PAIRS, or SEARCH. 
+        public long searchNodes; // Guesses the search made to solve the puzzle. 
+        public int clues; 
+    }
+    
+    public static SplittableRandom random(long seed, long index) // The random generator of puzzle number index in a corpus. 
+    {
+        return new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L)); 
+    }
+    
+    public Puzzle generate(SplittableRandom random) // Makes one graded puzzle. 
+    {
+        Puzzle result = new Puzzle(); 
+        fillGrid(random, result.solution); 
+        System.arraycopy(result.solution, 0, result.puzzle, 0, 81); 
+        
+        for(int i = 0; i < 81; i++)
+        {
+            order[i] = i; 
+        }
+        shuffle(order, 81, random); 
+        
+        result.clues = 81; 
+        for(int i = 0; i < 81; i++)
+        {
+            int box = order[i]; 
+            int given = result.puzzle[box]; 
+            result.puzzle[box] = 0; 
+            if(solver.countSolutions(result.puzzle, 2) == 1)
+            {
+                result.clues--; 
+            }
+            else
+            {
+                result.puzzle[box] = given; 
+            }
+        }
+        
+        result.grade = solver.hardestTechnique(result.puzzle); 
+        result.searchNodes = solver.getNodeCount(); 
+        return result; 
+    }
+    
+    public void fillGrid(SplittableRandom random, int[] grid) // Makes a random complete solution grid. 
+    {
+        int[] puzzle = new int[81]; 
+        int[] digits = new int[9]; 
+        for(int square = 0; square < 9; square += 4) // Squares 0, 4, and 8. 
+        {
+            for(int d = 0; d < 9; d++)
+            {
+                digits[d] = d + 1; 
+            }
+            shuffle(digits, 9, random); 
+            for(int k = 0; k < 9; k++)
+            {
+                puzzle[SudokuTables.UNIT_BOXES[(SudokuTables.SQUARE_UNITS + square) * 9 + k]] = digits[k]; 
+            }
+        }
+        solver.solve(puzzle, grid); 
+    }
+    
+    private static void shuffle(int[] array, int length, SplittableRandom random) // Fisher-Yates shuffle of the first length entries. 
+    {
+        for(int i = length - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1); 
+            int swap = array[i]; 
+            array[i] = array[j]; 
+            array[j] = swap; 
+        }
+    }
+    
+    public static long[] generateCorpus(long count, long seed, int threads, String outputPrefix) throws IOException, InterruptedException // Generates count puzzles into one file per grade, with their guess counts in a second file per grade. Returns the number of puzzles of each grade. 
+    {
+        ExecutorService pool = Executors.newFixedThreadPool(threads); 
+        ThreadLocal<SudokuGenerator> generators = ThreadLocal.withInitial(SudokuGenerator::new); 
+        long[] perGrade = new long[GRADE_NAMES.length]; 
+        BufferedWriter[] writers = new BufferedWriter[GRADE_NAMES.length]; 
+        BufferedWriter[] nodeWriters = new BufferedWriter[GRADE_NAMES.length]; 
+        try
+        {
+            for(int g = 0; g < writers.length; g++)
+            {
+                writers[g] = Files.newBufferedWriter(Paths.get(outputPrefix + "-" + GRADE_NAMES[g] + ".txt"), StandardCharsets.US_ASCII); 
+                nodeWriters[g] = Files.newBufferedWriter(Paths.get(outputPrefix + "-" + GRADE_NAMES[g] + "-nodes.txt"), StandardCharsets.US_ASCII); 
+            }
+            
+            Puzzle[] block = new Puzzle[BLOCK]; 
+            for(long first = 0; first < count; first += BLOCK)
+            {
+                int size = (int) Math.min(BLOCK, count - first); 
+                List<Callable<Object>> tasks = new ArrayList<>(threads); 
+                for(int t = 0; t < threads; t++)
+                {
+                    int thread = t; 
+                    long start = first; 
+                    tasks.add(() -> {
+                        SudokuGenerator generator = generators.get(); 
+                        for(int i = thread; i < size; i += threads)
+                        {
+                            block[i] = generator.generate(random(seed, start + i)); 
+                        }
+                        return null; 
+                    }); 
+                }
+                for(Future<Object> done : pool.invokeAll(tasks))
+                {
+                    try
+                    {
+                        done.get(); 
+                    }
+                    catch(ExecutionException e)
+                    {
+                        throw new IOException("Generating puzzles failed.", e.getCause()); 
+                    }
+                }
+                
+                StringBuilder line = new StringBuilder(82); 
+                for(int i = 0; i < size; i++)
+                {
+                    Puzzle puzzle = block[i]; 
+                    line.setLength(0); 
+                    for(int box = 0; box < 81; box++)
+                    {
+                        line.append((char) ('0' + puzzle.puzzle[box])); 
+                    }
+                    line.append('\n'); 
+                    writers[puzzle.grade].append(line); 
+                    nodeWriters[puzzle.grade].append(Long.toString(puzzle.searchNodes)).append('\n'); 
+                    perGrade[puzzle.grade]++; 
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdown(); 
+            for(int g = 0; g < writers.length; g++)
+            {
+                if(writers[g] != null)
+                {
+                    writers[g].close(); 
+                }
+                if(nodeWriters[g] != null)
+                {
+                    nodeWriters[g].close(); 
+                }
+            }
+        }
+        
+        return perGrade; 
+    }
+    
+    public static void main(String args[]) throws Exception
+    {
+        if(args.length < 3)
+        {
+            System.out.println("Usage: java SudokuGenerator count seed outputPrefix [threads]"); 
+            return; 
+        }
+        
+        long count = Long.parseLong(args[0]); 
+        long seed = Long.parseLong(args[1]); 
+        int threads = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors(); 
+        
+        long startTime = System.nanoTime(); 
+        long[] perGrade = generateCorpus(count, seed, threads, args[2]); 
+        double seconds = (System.nanoTime() - startTime) / 1e9; 
+        
+        System.out.println("Generated " + count + " puzzles on " + threads + " threads in " + String.format("%.3f", seconds) + " s (" + String.format("%.0f", count / seconds) + " puzzles per second)."); 
+        for(int g = 0; g < perGrade.length; g++)
+        {
+            System.out.println("  " + GRADE_NAMES[g] + ": " + perGrade[g]); 
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * A SudokuBulkSolver that solves one puzzle per vector lane, so that the logical part of solving runs as straight line vector code over all the puzzles of a group.
+ *
+ * Every array is laid out box (or unit) major with the lanes innermost: the candidates of box b in lane l are at candidates[b * lanes + l].
+ * A pass then goes over the boxes and units once, doing the same bit operations on every lane: it rebuilds the row, column, and square masks
+ * from the placed numbers, narrows the candidates with them, and places every naked and hidden single it finds. All the deductions of a pass are
+ * read from the same candidates, so they hold together; two of them clashing means the puzzle has no solution. Passes repeat until none places anything.
+ *
+ * A lane is dropped as soon as it shows a contradiction: a number repeated in a unit, an empty box without candidates, or a number with no place left
+ * in a unit. Whatever the logic could not finish, and every dropped lane, is then handed to an ordinary SudokuSolver, so the results always match it.
+ *
+ * A lane whose passes fill the whole board is already solved: every pass checks the units for repeats, and singles are forced, so it needs no finisher.
+ *
+ * Subclasses write pass(); SudokuVectorBulkSolver does it with the Vector API.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public abstract class SudokuLaneBulkSolver extends SudokuBulkSolver
+{
+    protected static final int ALL = SudokuCandidates.ALL;
+
+    protected final int lanes;
+    protected final int[] placed; // Bit of the number placed in each box of each lane, 0 if empty.
+    protected final int[] candidates; // Candidate bitset of each box of each lane. A filled box holds 0.
+    protected final int[] unitMasks; // Numbers placed in each unit (numbered as in SudokuTables) of each lane.
+    protected final int[] found; // Singles found by the current pass.
+    protected final int[] conflict; // Nonzero once a lane has shown a contradiction.
+
+    private final int[] board = new int[81];
+
+    protected SudokuLaneBulkSolver(int lanes) // For a subclass that does the passes over this many lanes.
+    {
+        this.lanes = lanes;
+        placed = new int[81 * lanes];
+        candidates = new int[81 * lanes];
+        unitMasks = new int[27 * lanes];
+        found = new int[81 * lanes];
+        conflict = new int[lanes];
+    }
+
+    public int getLanes()
+    {
+        return lanes;
+    }
+
+    public int solveAll(int[][] puzzles, int count, int[][] solutions, int[] statuses)
+    {
+        int solved = 0;
+        for(int first = 0; first < count; first += lanes)
+        {
+            int group = Math.min(lanes, count - first);
+            load(puzzles, first, group);
+            while(pass())
+            {
+                // Every pass that places something is followed by another.
+            }
+
+            for(int lane = 0; lane < group; lane++)
+            {
+                statuses[first + lane] = finish(lane, puzzles[first + lane], solutions[first + lane]);
+                if(statuses[first + lane] == SOLVED)
+                {
+                    solved++;
+                }
+            }
+        }
+        return solved;
+    }
+
+    private void load(int[][] puzzles, int first, int group) // Puts a group of puzzles in the lanes. Unused lanes start out with a contradiction, so they cost nothing.
+    {
+        for(int lane = 0; lane < lanes; lane++)
+        {
+            int[] puzzle = (lane < group) ? puzzles[first + lane] : null;
+            conflict[lane] = (puzzle == null) ? 1 : 0;
+            for(int box = 0; box < 81; box++)
+            {
+                int num = (puzzle == null) ? 0 : puzzle[box];
+                if(num < 0 || num > 9)
+                {
+                    conflict[lane] = 1; // Left to the finisher, which reports the puzzle invalid.
+                    num = 0;
+                }
+                placed[box * lanes + lane] = (num == 0) ? 0 : 1 << (num - 1);
+                candidates[box * lanes + lane] = (num == 0 && puzzle != null) ? ALL : 0;
+            }
+        }
+    }
+
+    protected abstract boolean pass(); // One round over every lane: rebuilds the unit masks, narrows the candidates, and places every single found. Returns true if any single was placed.
+
+    private int finish(int lane, int[] puzzle, int[] solution) // Finishes a lane with the scalar solver, from where the passes left it, or from the puzzle itself if the lane was dropped.
+    {
+        if(conflict[lane] == 0)
+        {
+            int empty = 0;
+            for(int box = 0; box < 81; box++)
+            {
+                int b = placed[box * lanes + lane];
+                board[box] = (b == 0) ? 0 : Integer.numberOfTrailingZeros(b) + 1;
+                empty += (b == 0) ? 1 : 0;
+            }
+            if(empty == 0) // The last pass found no repeats in the full board, and singles are forced, so this is the solution.
+            {
+                System.arraycopy(board, 0, solution, 0, 81);
+                return SOLVED;
+            }
+            if(finisher.solve(board, solution) == SOLVED)
+            {
+                return SOLVED;
+            }
+        }
+        return finisher.solve(puzzle, solution); // Reports NO_SOLUTION or INVALID exactly as the scalar solver would.
+    }
+}
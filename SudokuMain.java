@@ -11,39 +11,46 @@ import java.io.*;
 
 public class SudokuMain
 {
+    static final int[] examplePuzzle1 = {0, 0, 4,   0, 0, 0,   0, 6, 7, 
+                                         3, 0, 0,   4, 7, 0,   0, 0, 5,
+                                         1, 5, 0,   8, 2, 0,   0, 0, 3,
+                            
+                                         0, 0, 6,   0, 0, 0,   0, 3, 1,
+                                         8, 0, 2,   1, 0, 5,   6, 0, 4,
+                                         4, 1, 0,   0, 0, 0,   9, 0, 0,
+                            
+                                         7, 0, 0,   0, 8, 0,   0, 4, 6,
+                                         6, 0, 0,   0, 1, 2,   0, 0, 0,
+                                         9, 3, 0,   0, 0, 0,   7, 1, 0};
+                            
+                        
+    static final int[] examplePuzzle2 = {0,0,4,3,0,0,2,0,9,0,0,5,0,0,9,0,0,1,0,7,0,0,6,0,0,4,3,0,0,6,0,0,2,0,8,7,1,9,0,0,0,7,4,0,0,0,5,0,0,8,3,0,0,0,6,0,0,0,0,0,1,0,5,0,0,3,5,0,8,6,9,0,0,4,2,9,1,0,3,0,0}; 
+        
+    static final int[] examplePuzzle3 = {0,5,0,0,0,0,0,4,0,3,0,0,2,0,7,0,0,1,0,0,7,0,6,0,3,0,0,0,3,0,0,8,0,0,7,0,0,0,9,7,0,5,1,0,0,0,4,0,0,2,0,0,9,0,0,0,2,0,5,0,4,0,0,9,0,0,1,0,6,0,0,2,0,6,0,0,0,0,0,1,0};
+    
     public static void main(String args[]) throws Exception
     {
         Scanner scanner = new Scanner(System.in); 
-        System.out.println("Welcome to the Sudoku Solver! This solver is capable of solving beginner/intermediate level Sudoku puzzles."); 
+        System.out.println("Welcome to the Sudoku Solver! This solver is capable of solving Sudoku puzzles of any difficulty."); 
         int[] inputPuzzle = new int[81]; 
         int[] randomPuzzle = new int[81]; 
         
-        int[] examplePuzzle1 = {0, 0, 4,   0, 0, 0,   0, 6, 7, 
-                                3, 0, 0,   4, 7, 0,   0, 0, 5,
-                                1, 5, 0,   8, 2, 0,   0, 0, 3,
-                                
-                                0, 0, 6,   0, 0, 0,   0, 3, 1,
-                                8, 0, 2,   1, 0, 5,   6, 0, 4,
-                                4, 1, 0,   0, 0, 0,   9, 0, 0,
-                                
-                                7, 0, 0,   0, 8, 0,   0, 4, 6,
-                                6, 0, 0,   0, 1, 2,   0, 0, 0,
-                                9, 3, 0,   0, 0, 0,   7, 1, 0};
-                            
-                        
-        int[] examplePuzzle2 = {0,0,4,3,0,0,2,0,9,0,0,5,0,0,9,0,0,1,0,7,0,0,6,0,0,4,3,0,0,6,0,0,2,0,8,7,1,9,0,0,0,7,4,0,0,0,5,0,0,8,3,0,0,0,6,0,0,0,0,0,1,0,5,0,0,3,5,0,8,6,9,0,0,4,2,9,1,0,3,0,0}; 
-        
-        int[] examplePuzzle3 = {0,5,0,0,0,0,0,4,0,3,0,0,2,0,7,0,0,1,0,0,7,0,6,0,3,0,0,0,3,0,0,8,0,0,7,0,0,0,9,7,0,5,1,0,0,0,4,0,0,2,0,0,9,0,0,0,2,0,5,0,4,0,0,9,0,0,1,0,6,0,0,2,0,6,0,0,0,0,0,1,0};
-        
         System.out.println("In which format would you like to input a puzzle? "); 
         System.out.println("1) Use console input to write box by box."); 
         System.out.println("2) Input using text file called 'SudokuPuzzleTextFileInput.txt'. (File format should be all 81 numbers strung together without spaces: 090534...) "); 
         System.out.println("3) Automatically use sample puzzle #1 "); 
         System.out.println("4) Automatically use sample puzzle #2 "); 
         System.out.println("5) Automatically use sample puzzle #3 (Hard) "); 
+        System.out.println("6) Solve every puzzle in 'SudokuPuzzleTextFileInput.txt' (one puzzle per line, 0 or . for empty boxes) and write the solutions to 'SudokuSolutions.txt'. "); 
         
         int userInput = scanner.nextInt(); // Stores the choice inputted by client. 
         int index = 0; 
+        if(userInput == 6) // User Choice 6
+        {
+            SudokuBatch.main(new String[] {"SudokuPuzzleTextFileInput.txt", "SudokuSolutions.txt"}); 
+            return; 
+        }
+        
         if(userInput == 1) // User Choice 1
         {
             for(int i = 1; i < 10; i++)
@@ -104,7 +111,12 @@ public class SudokuMain
             System.out.println("You did not choose a valid option. Default in-built puzzle will be used. "); 
             inputPuzzle = examplePuzzle1; 
         }
-        SudokuSolver sudoku = new SudokuSolver(inputPuzzle); // Generates and instance of the Sudoku Solver class and passes the input puzzle to it. 
+        System.out.println("Input Sudoku Puzzle: "); 
+        SudokuRenderer.print(inputPuzzle, System.out); 
+        
+        SudokuSolver sudoku = new SudokuSolver(); // Generates an instance of the Sudoku Solver class and passes the input puzzle to it. 
+        int[] solution = new int[81]; 
+        int status = sudoku.solve(inputPuzzle, solution); 
         
         
         
@@ -120,8 +132,19 @@ public class SudokuMain
         System.out.println(); 
         System.out.println(); 
         
-        System.out.println("Solved to best of code's ability: "); 
+        if(status == SudokuEngine.SOLVED)
+        {
+            System.out.println("Solved: "); 
+        }
+        else if(status == SudokuEngine.INVALID)
+        {
+            System.out.println("This puzzle is invalid: " + sudoku.describeReason() + ". Furthest point reached: "); 
+        }
+        else
+        {
+            System.out.println("This puzzle has no solution: " + sudoku.describeReason() + ". Furthest point reached: "); 
+        }
         System.out.println(); 
-        sudoku.printBoard(); //Prints Solved Board. 
+        SudokuRenderer.print(solution, System.out); //Prints Solved Board. 
     }
 }
@@ -0,0 +1,435 @@
+/**
+ * Compact binary formats for puzzles and solved grids, with readers and writers for whole files.
+ *
+ * A puzzle takes PUZZLE_BYTES (41) bytes: two boxes per byte, the earlier box in the high four bits, 0 for an empty box, and the low four bits
+ * of the last byte unused. That is an eighth of an int[81] and half of a text line. A record of all ones (INVALID_PUZZLE) stands for an input line
+ * that was not a puzzle, so that record N of a file is always line N of the text it was packed from; unpackPuzzle() rejects it.
+ *
+ * A solved grid takes SOLUTION_BYTES (19) bytes. Every row of a solution is a permutation of 1 to 9, which is one of 9! = 362880 values and fits in 19 bits,
+ * and the last row follows from the other eight (each column is missing exactly one number). The first eight rows are stored as their permutation
+ * index (Lehmer code), most significant bit first, 152 bits in all. A record of all ones (NO_SOLUTION_RECORD) stands for a puzzle without a solution,
+ * and one of all INVALID_RECORD bytes for an invalid puzzle. Neither can start a solved grid, whose first byte is at most 0xB1; see solutionStatus().
+ *
+ * The pack and unpack methods use absolute positions and never move the buffer's position, like SudokuBatch.parse().
+ * SudokuSolver.solvePacked() decodes a packed puzzle straight into its candidate engine, without an int[] in between.
+ *
+ * Usage: java SudokuPacked pack puzzles.txt puzzles.bin
+ *        java SudokuPacked unpack puzzles.bin puzzles.txt
+ *        java SudokuPacked solve puzzles.bin solutions.bin
+ *        java SudokuPacked print solutions.bin solutions.txt
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+public class SudokuPacked
+{
+    public static final int PUZZLE_BYTES = 41;
+    public static final int SOLUTION_BYTES = 19;
+
+    private static final byte INVALID_PUZZLE = (byte) 0xFF; // Every byte of a puzzle record for a line that was not a puzzle.
+    private static final byte NO_SOLUTION_RECORD = (byte) 0xFF; // Every byte of a solution record for a puzzle without a solution,
+    private static final byte INVALID_RECORD = (byte) 0xFE; // and for an invalid puzzle.
+
+    private static final int PERMUTATIONS = 362880; // 9!
+    private static final int CODE_BITS = 19; // Bits per row index.
+
+    public static boolean packPuzzle(int[] puzzle, ByteBuffer target, int position) // Writes an 81 number puzzle as 41 bytes at position. Returns false, with INVALID_PUZZLE written instead, if a number is outside 0 - 9.
+    {
+        int bad = 0;
+        for(int box = 0; box < 81; box++)
+        {
+            bad |= puzzle[box] | (9 - puzzle[box]);
+        }
+        if(bad < 0)
+        {
+            fill(target, position, PUZZLE_BYTES, INVALID_PUZZLE);
+            return false;
+        }
+
+        for(int i = 0; i < PUZZLE_BYTES; i++)
+        {
+            int low = (2 * i + 1 < 81) ? puzzle[2 * i + 1] : 0;
+            target.put(position + i, (byte) ((puzzle[2 * i] << 4) | low));
+        }
+        return true;
+    }
+
+    public static void packInvalidPuzzle(ByteBuffer target, int position) // Writes INVALID_PUZZLE at position.
+    {
+        fill(target, position, PUZZLE_BYTES, INVALID_PUZZLE);
+    }
+
+    private static void fill(ByteBuffer target, int position, int length, byte value)
+    {
+        for(int i = 0; i < length; i++)
+        {
+            target.put(position + i, value);
+        }
+    }
+
+    public static boolean unpackPuzzle(ByteBuffer source, int position, int[] puzzle) // Reads a 41 byte puzzle at position. Returns false if a box holds a value above 9.
+    {
+        int bad = 0;
+        for(int i = 0; i < PUZZLE_BYTES; i++)
+        {
+            int b = source.get(position + i) & 0xFF;
+            int high = b >>> 4;
+            puzzle[2 * i] = high;
+            bad |= 9 - high;
+            if(2 * i + 1 < 81)
+            {
+                int low = b & 0xF;
+                puzzle[2 * i + 1] = low;
+                bad |= 9 - low;
+            }
+        }
+        return bad >= 0; // Negative only if some value was above 9.
+    }
+
+    public static void packSolution(int[] grid, ByteBuffer target, int position) // Writes a solved grid as 19 bytes at position. The grid must be a valid solution.
+    {
+        long buffer = 0; // Bits not yet written, right aligned.
+        int bits = 0;
+        int written = 0;
+        for(int row = 0; row < 8; row++)
+        {
+            int left = 0x1FF; // Numbers not yet used in this row.
+            int code = 0;
+            for(int column = 0; column < 9; column++)
+            {
+                int bit = 1 << (grid[row * 9 + column] - 1);
+                code = code * (9 - column) + Integer.bitCount(left & (bit - 1)); // Rank of the number among those left.
+                left &= ~bit;
+            }
+
+            buffer = (buffer << CODE_BITS) | code;
+            bits += CODE_BITS;
+            while(bits >= 8)
+            {
+                bits -= 8;
+                target.put(position + written++, (byte) (buffer >>> bits));
+            }
+        }
+        // 8 * 19 = 152 bits, exactly 19 bytes, so nothing is left over.
+    }
+
+    public static void packNoSolution(ByteBuffer target, int position) // Writes NO_SOLUTION_RECORD at position.
+    {
+        fill(target, position, SOLUTION_BYTES, NO_SOLUTION_RECORD);
+    }
+
+    public static void packInvalid(ByteBuffer target, int position) // Writes INVALID_RECORD at position.
+    {
+        fill(target, position, SOLUTION_BYTES, INVALID_RECORD);
+    }
+
+    public static int solutionStatus(ByteBuffer source, int position) // SudokuEngine.NO_SOLUTION or INVALID for those records, SOLVED for anything else (check with unpackSolution()).
+    {
+        byte first = source.get(position);
+        if(first != NO_SOLUTION_RECORD && first != INVALID_RECORD)
+        {
+            return SudokuEngine.SOLVED;
+        }
+        for(int i = 1; i < SOLUTION_BYTES; i++)
+        {
+            if(source.get(position + i) != first)
+            {
+                return SudokuEngine.SOLVED; // Corrupt, so unpackSolution() rejects it.
+            }
+        }
+        return (first == NO_SOLUTION_RECORD) ? SudokuEngine.NO_SOLUTION : SudokuEngine.INVALID;
+    }
+
+    public static boolean unpackSolution(ByteBuffer source, int position, int[] grid) // Reads a 19 byte solved grid at position. Returns false for NO_SOLUTION_RECORD, INVALID_RECORD, or a corrupt record. Allocates nothing.
+    {
+        long buffer = 0;
+        int bits = 0;
+        int read = 0;
+        for(int row = 0; row < 8; row++)
+        {
+            while(bits < CODE_BITS)
+            {
+                buffer = (buffer << 8) | (source.get(position + read++) & 0xFF);
+                bits += 8;
+            }
+            bits -= CODE_BITS;
+            int code = (int) (buffer >>> bits) & ((1 << CODE_BITS) - 1);
+            if(code >= PERMUTATIONS)
+            {
+                return false;
+            }
+
+            int left = 0x1FF;
+            int radix = 40320; // 8!, the weight of the first rank.
+            for(int column = 0; column < 9; column++)
+            {
+                int rank = code / radix;
+                code %= radix;
+                if(column < 8)
+                {
+                    radix /= 8 - column;
+                }
+
+                int candidates = left;
+                for(int k = 0; k < rank; k++)
+                {
+                    candidates &= candidates - 1; // Drop the smallest number left, rank times.
+                }
+                int bit = candidates & -candidates;
+                grid[row * 9 + column] = Integer.numberOfTrailingZeros(bit) + 1;
+                left &= ~bit;
+            }
+        }
+
+        for(int column = 0; column < 9; column++)
+        {
+            int left = 0x1FF;
+            for(int row = 0; row < 8; row++)
+            {
+                left &= ~(1 << (grid[row * 9 + column] - 1));
+            }
+            if(left == 0 || (left & (left - 1)) != 0)
+            {
+                return false; // A column repeated a number, so the last row is not determined.
+            }
+            grid[72 + column] = Integer.numberOfTrailingZeros(left) + 1;
+        }
+        return true;
+    }
+
+    public static class Writer implements Closeable // Appends fixed size records to a file through a direct buffer.
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+        public Writer(Path path) throws IOException
+        {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        public boolean writePuzzle(int[] puzzle) throws IOException // Writes a puzzle, or INVALID_PUZZLE if puzzle is null. Returns false if INVALID_PUZZLE was written.
+        {
+            ensureRoom(PUZZLE_BYTES);
+            boolean valid = true;
+            if(puzzle == null)
+            {
+                packInvalidPuzzle(buffer, buffer.position());
+                valid = false;
+            }
+            else
+            {
+                valid = packPuzzle(puzzle, buffer, buffer.position());
+            }
+            buffer.position(buffer.position() + PUZZLE_BYTES);
+            return valid;
+        }
+
+        public void writeSolution(int[] grid) throws IOException // Writes a solved grid, or NO_SOLUTION_RECORD if grid is null.
+        {
+            writeSolution(grid == null ? SudokuEngine.NO_SOLUTION : SudokuEngine.SOLVED, grid);
+        }
+
+        public void writeSolution(int status, int[] grid) throws IOException // Writes the record for a solve that ended with status: the grid if SOLVED, INVALID_RECORD if INVALID, NO_SOLUTION_RECORD otherwise.
+        {
+            ensureRoom(SOLUTION_BYTES);
+            if(status == SudokuEngine.SOLVED)
+            {
+                packSolution(grid, buffer, buffer.position());
+            }
+            else if(status == SudokuEngine.INVALID)
+            {
+                packInvalid(buffer, buffer.position());
+            }
+            else
+            {
+                packNoSolution(buffer, buffer.position());
+            }
+            buffer.position(buffer.position() + SOLUTION_BYTES);
+        }
+
+        private void ensureRoom(int bytes) throws IOException
+        {
+            if(buffer.remaining() < bytes)
+            {
+                flush();
+            }
+        }
+
+        public void flush() throws IOException
+        {
+            buffer.flip();
+            while(buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        public void close() throws IOException
+        {
+            flush();
+            channel.close();
+        }
+    }
+
+    public static class Reader implements Closeable // Reads fixed size records from a file through a direct buffer.
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        private final int recordBytes;
+
+        public Reader(Path path, int recordBytes) throws IOException // recordBytes is PUZZLE_BYTES or SOLUTION_BYTES.
+        {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.recordBytes = recordBytes;
+            buffer.limit(0);
+        }
+
+        public int next() throws IOException // Makes the next record available in getBuffer() and returns its position, or -1 at the end of the file. A trailing partial record is ignored.
+        {
+            if(buffer.remaining() < recordBytes)
+            {
+                buffer.compact();
+                while(buffer.position() < recordBytes && channel.read(buffer) >= 0)
+                {
+                    // Keep reading until a whole record is there or the file ends.
+                }
+                buffer.flip();
+                if(buffer.remaining() < recordBytes)
+                {
+                    return -1;
+                }
+            }
+            int position = buffer.position();
+            buffer.position(position + recordBytes);
+            return position;
+        }
+
+        public ByteBuffer getBuffer() // The buffer holding the record returned by next(). Valid until next() is called again.
+        {
+            return buffer;
+        }
+
+        public boolean readPuzzle(int[] puzzle) throws IOException // Reads the next puzzle. Returns false at the end of the file. Values above 9 read as they are; check with unpackPuzzle() if that matters.
+        {
+            int position = next();
+            if(position < 0)
+            {
+                return false;
+            }
+            unpackPuzzle(buffer, position, puzzle);
+            return true;
+        }
+
+        public void close() throws IOException
+        {
+            channel.close();
+        }
+    }
+
+    public static void main(String args[]) throws Exception
+    {
+        if(args.length < 3)
+        {
+            System.out.println("Usage: java SudokuPacked pack|unpack|solve|print input output");
+            return;
+        }
+
+        Path input = Paths.get(args[1]);
+        Path output = Paths.get(args[2]);
+        long count = 0;
+        long startTime = System.nanoTime();
+        int[] puzzle = new int[81];
+        int[] solution = new int[81];
+        if(args[0].equals("pack"))
+        {
+            ByteBuffer line = ByteBuffer.allocate(82); // One byte more than a puzzle, so a longer line is seen to be longer.
+            try(InputStream in = new BufferedInputStream(Files.newInputStream(input), 1 << 16); Writer out = new Writer(output))
+            {
+                int length = 0; // Bytes in the line so far, counted past the buffer.
+                while(true)
+                {
+                    int c = in.read();
+                    if(c >= 0 && c != '\n')
+                    {
+                        if(length < 82)
+                        {
+                            line.put(length, (byte) c);
+                        }
+                        length++;
+                        continue;
+                    }
+                    if(length > 0 && length <= 82 && line.get(length - 1) == '\r')
+                    {
+                        length--;
+                    }
+                    if(length > 0) // Lines are split and parsed as SudokuBatch does, so only empty lines are skipped and padded ones are invalid.
+                    {
+                        out.writePuzzle(SudokuBatch.parse(line, 0, Math.min(length, 82), puzzle) ? puzzle : null); // Every line gets a record, so records stay in step with the lines.
+                        count++;
+                    }
+                    if(c < 0)
+                    {
+                        break;
+                    }
+                    length = 0;
+                }
+            }
+        }
+        else if(args[0].equals("unpack") || args[0].equals("print"))
+        {
+            boolean solutions = args[0].equals("print");
+            try(Reader in = new Reader(input, solutions ? SOLUTION_BYTES : PUZZLE_BYTES); PrintWriter out = new PrintWriter(Files.newBufferedWriter(output)))
+            {
+                int position;
+                StringBuilder text = new StringBuilder(82);
+                while((position = in.next()) >= 0)
+                {
+                    int status = solutions ? solutionStatus(in.getBuffer(), position) : SudokuEngine.SOLVED;
+                    boolean valid = (status == SudokuEngine.SOLVED) && (solutions ? unpackSolution(in.getBuffer(), position, puzzle) : unpackPuzzle(in.getBuffer(), position, puzzle));
+                    text.setLength(0);
+                    if(valid)
+                    {
+                        for(int box = 0; box < 81; box++)
+                        {
+                            text.append((char) ('0' + puzzle[box]));
+                        }
+                    }
+                    else
+                    {
+                        text.append((status == SudokuEngine.NO_SOLUTION) ? "unsolvable" : "invalid"); // A corrupt record reads as invalid.
+                    }
+                    out.println(text);
+                    count++;
+                }
+            }
+        }
+        else if(args[0].equals("solve"))
+        {
+            SudokuSolver solver = new SudokuSolver();
+            try(Reader in = new Reader(input, PUZZLE_BYTES); Writer out = new Writer(output))
+            {
+                int position;
+                while((position = in.next()) >= 0)
+                {
+                    out.writeSolution(solver.solvePacked(in.getBuffer(), position, solution), solution);
+                    count++;
+                }
+            }
+        }
+        else
+        {
+            System.out.println("Unknown command " + args[0]);
+            return;
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.println(args[0] + ": " + count + " records in " + String.format("%.3f", seconds) + " s.");
+    }
+}
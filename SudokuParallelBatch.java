@@ -0,0 +1,236 @@
+/**
+ * Solves a file of Sudoku puzzles on several threads. Same input and output format as SudokuBatch. 
+ * 
+ * Each mapped window of the input is cut into chunks of about a megabyte at line boundaries. Chunks are solved on a fixed pool of worker threads, 
+ * each of which keeps one SudokuBatch (and so one solver) for its whole life. Finished chunks are written in input order, 
+ * and only a few chunks per thread are allowed in flight so memory stays bounded however large the file is. 
+ * 
+ * Usage: java SudokuParallelBatch input.txt output.txt [threads] [dlx|search|adaptive] [-unique]
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+public class SudokuParallelBatch
+{
+    private static final int CHUNK_BYTES = 1 << 20; // Target size of a chunk of input, roughly 12 000 puzzles. 
+    
+    private final int threads; 
+    private final ExecutorService pool; 
+    private final ThreadLocal<SudokuBatch> workers; // One SudokuBatch, and so one reusable solver, per worker thread. 
+    private long solvedCount; // Puzzles solved by the last call to solveFile(). 
+    
+    private static class Chunk // Output of one solved chunk. 
+    {
+        ByteBuffer output; 
+        int count; 
+        long solved; 
+    }
+    
+    public SudokuParallelBatch(int threads, Supplier<SudokuEngine> engines) // Creates a pool of threads workers. engines is called once on each worker thread. 
+    {
+        this(threads, engines, false); 
+    }
+    
+    public SudokuParallelBatch(int threads, Supplier<SudokuEngine> engines, boolean checkUniqueness) // Same, optionally checking every puzzle for a unique solution as SudokuBatch -unique does. 
+    {
+        this.threads = threads; 
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sudoku-batch"); 
+            thread.setDaemon(true); 
+            return thread; 
+        }); 
+        this.workers = ThreadLocal.withInitial(() -> new SudokuBatch(engines.get(), checkUniqueness)); 
+    }
+    
+    public long solveFile(Path input, Path output) throws IOException, InterruptedException // Solves every puzzle in input and writes one line per puzzle to output, in input order. Returns the number of puzzles read. 
+    {
+        solvedCount = 0; 
+        long count = 0; 
+        ArrayDeque<Future<Chunk>> inFlight = new ArrayDeque<>(); 
+        try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ); 
+            FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            long size = in.size(); 
+            long position = 0; 
+            while(position < size)
+            {
+                long length = Math.min(SudokuBatch.WINDOW, size - position); 
+                boolean lastWindow = (position + length == size); 
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length); 
+                int limit = (int) length; 
+                
+                int start = 0; 
+                while(start < limit)
+                {
+                    int end = nextChunkEnd(window, start, limit, lastWindow); 
+                    if(end < 0)
+                    {
+                        break; // The rest of the window is part of a line that continues in the next window. 
+                    }
+                    
+                    if(inFlight.size() >= threads * 4)
+                    {
+                        count += write(inFlight.removeFirst(), out); 
+                    }
+                    inFlight.addLast(submit(window, start, end)); 
+                    start = end; 
+                }
+                
+                if(start == 0)
+                {
+                    throw new IOException("Line at byte " + position + " is longer than " + SudokuBatch.WINDOW + " bytes."); 
+                }
+                position += start; 
+            }
+            
+            while(!inFlight.isEmpty())
+            {
+                count += write(inFlight.removeFirst(), out); 
+            }
+        }
+        finally
+        {
+            for(Future<Chunk> pending : inFlight)
+            {
+                pending.cancel(true); 
+            }
+        }
+        
+        return count; 
+    }
+    
+    public long getSolvedCount() // Returns the number of puzzles that were solved by the last call to solveFile(). 
+    {
+        return solvedCount; 
+    }
+    
+    public void shutdown() // Stops the worker threads once queued chunks are done. 
+    {
+        pool.shutdown(); 
+    }
+    
+    private static int nextChunkEnd(ByteBuffer window, int start, int limit, boolean lastWindow) // Returns the end of a chunk of about CHUNK_BYTES starting at start, just after a newline. Returns -1 if no complete line is left. 
+    {
+        int end = Math.min(start + CHUNK_BYTES, limit); 
+        if(end == limit && lastWindow)
+        {
+            return limit; 
+        }
+        
+        while(end > start && window.get(end - 1) != '\n')
+        {
+            end--; 
+        }
+        
+        if(end == start) // No newline before the target size; look further ahead. 
+        {
+            end = Math.min(start + CHUNK_BYTES, limit); 
+            while(end < limit && window.get(end - 1) != '\n')
+            {
+                end++; 
+            }
+            if(window.get(end - 1) != '\n' && !lastWindow)
+            {
+                return -1; 
+            }
+        }
+        
+        return end; 
+    }
+    
+    private Future<Chunk> submit(ByteBuffer window, int start, int end) // Queues one chunk of lines to be solved on a worker thread. 
+    {
+        return pool.submit(() -> {
+            int lines = 1; 
+            for(int i = start; i < end; i++)
+            {
+                if(window.get(i) == '\n')
+                {
+                    lines++; 
+                }
+            }
+            
+            SudokuBatch worker = workers.get(); 
+            worker.resetSolvedCount(); 
+            Chunk chunk = new Chunk(); 
+            chunk.output = ByteBuffer.allocate(lines * 82); 
+            chunk.count = worker.solveLines(window, start, end, chunk.output); 
+            chunk.solved = worker.getSolvedCount(); 
+            chunk.output.flip(); 
+            return chunk; 
+        }); 
+    }
+    
+    private int write(Future<Chunk> pending, FileChannel out) throws IOException, InterruptedException // Waits for a chunk and writes its output. Returns the number of puzzles it held. 
+    {
+        Chunk chunk; 
+        try
+        {
+            chunk = pending.get(); 
+        }
+        catch(ExecutionException e)
+        {
+            throw new IOException("Solving a chunk failed.", e.getCause()); 
+        }
+        
+        while(chunk.output.hasRemaining())
+        {
+            out.write(chunk.output); 
+        }
+        solvedCount += chunk.solved; 
+        return chunk.count; 
+    }
+    
+    public static void main(String args[]) throws Exception
+    {
+        if(args.length < 2)
+        {
+            System.out.println("Usage: java SudokuParallelBatch input.txt output.txt [threads] [dlx|search|adaptive] [-unique] [-stats] [-cache=size]"); 
+            return; 
+        }
+        
+        int threads = (args.length > 2 && Character.isDigit(args[2].charAt(0))) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors(); 
+        boolean search = Arrays.asList(args).contains("search"); 
+        boolean unique = Arrays.asList(args).contains("-unique"); 
+        boolean adaptive = Arrays.asList(args).contains("adaptive"); 
+        Supplier<SudokuEngine> engines = () -> adaptive ? new SudokuDispatcher() : search ? new SudokuSolver() : new DancingLinksSolver(); 
+        SudokuSolutionCache cache = null; 
+        for(String arg : args)
+        {
+            if(arg.startsWith("-cache="))
+            {
+                cache = new SudokuSolutionCache(Integer.parseInt(arg.substring(7))); 
+                engines = SudokuSolutionCache.engines(cache, engines); 
+            }
+        }
+        SudokuParallelBatch batch = new SudokuParallelBatch(threads, engines, unique); 
+        if(Arrays.asList(args).contains("-stats") && SudokuStats.ENABLED)
+        {
+            SudokuStats.GLOBAL.register(); // So a long run can be watched over JMX as it goes. 
+        }
+        
+        long startTime = System.nanoTime(); 
+        long count = batch.solveFile(Paths.get(args[0]), Paths.get(args[1])); 
+        double seconds = (System.nanoTime() - startTime) / 1e9; 
+        batch.shutdown(); 
+        
+        System.out.println((unique ? "Uniquely solved " : "Solved ") + batch.getSolvedCount() + " of " + count + " puzzles on " + threads + " threads in " + String.format("%.3f", seconds) + " s (" + String.format("%.0f", count / seconds) + " puzzles per second)."); 
+        if(Arrays.asList(args).contains("-stats") && SudokuStats.ENABLED)
+        {
+            System.out.println(SudokuStats.GLOBAL.snapshot()); 
+        }
+        if(cache != null)
+        {
+            System.out.println("Cache: " + cache); 
+        }
+    }
+}
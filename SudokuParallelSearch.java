@@ -0,0 +1,171 @@
+/**
+ * Searches a single hard puzzle on several threads. 
+ * 
+ * The top levels of the search tree are split into fork/join tasks, one for each possibility of the box with the fewest possibilities. 
+ * Every task owns its own copy of the board and candidate state. Below the split depth a task runs the ordinary depth first search 
+ * of SudokuSolver on its copy. Idle threads steal tasks from busy ones. 
+ * 
+ * All tasks share a stop flag: it is raised as soon as the first solution is found, or in countSolutions() as soon as the limit is reached 
+ * (a limit of 2 gives a uniqueness check), and every task checks it before each guess. 
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class SudokuParallelSearch implements SudokuEngine
+{
+    private final ForkJoinPool pool; 
+    private final int splitDepth; // Number of levels of guesses that are split into separate tasks. 
+    
+    public SudokuParallelSearch(ForkJoinPool pool, int splitDepth)
+    {
+        this.pool = pool; 
+        this.splitDepth = splitDepth; 
+    }
+    
+    public SudokuParallelSearch() // Uses the common fork/join pool and splits the first three levels of guesses. 
+    {
+        this(ForkJoinPool.commonPool(), 3); 
+    }
+    
+    public int solve(int[] puzzle, int[] solution) // Finds one solution. Returns SOLVED, NO_SOLUTION, or INVALID. 
+    {
+        int found = run(puzzle, 1, solution); 
+        if(found < 0)
+        {
+            return INVALID; 
+        }
+        return (found > 0) ? SOLVED : NO_SOLUTION; 
+    }
+    
+    public int countSolutions(int[] puzzle, int limit, int[] firstSolution) // Counts the solutions of a puzzle, stopping at limit. firstSolution (may be null) receives one of them. 
+    {
+        if(limit < 1)
+        {
+            throw new IllegalArgumentException("Solution limit must be at least 1, was " + limit); 
+        }
+        return Math.max(run(puzzle, limit, firstSolution), 0); 
+    }
+    
+    private int run(int[] puzzle, int limit, int[] solution) // Searches with all tasks sharing one set of results. Returns the number of solutions found, at most limit. 
+    {
+        if(puzzle.length != 81)
+        {
+            return -1; // Checked first, since an invalid puzzle is copied into solution below. 
+        }
+        SudokuCandidates root = new SudokuCandidates(); 
+        if(!root.load(puzzle))
+        {
+            if(solution != null)
+            {
+                System.arraycopy(puzzle, 0, solution, 0, 81); 
+            }
+            return -1; 
+        }
+        
+        Results results = new Results(limit, solution); 
+        pool.invoke(new BranchTask(root, 0, results)); 
+        
+        int count = Math.min(results.count.get(), limit); 
+        if(count == 0 && solution != null)
+        {
+            System.arraycopy(puzzle, 0, solution, 0, 81); 
+        }
+        return count; 
+    }
+    
+    private static class Results implements SudokuSolver.SolutionSink // Solutions found by all the tasks of one search. 
+    {
+        final int limit; 
+        final int[] firstSolution; 
+        final AtomicInteger count = new AtomicInteger(); 
+        final AtomicBoolean stop = new AtomicBoolean(); // Raised once limit solutions have been found; every task then winds down. 
+        
+        Results(int limit, int[] firstSolution)
+        {
+            this.limit = limit; 
+            this.firstSolution = firstSolution; 
+        }
+        
+        public boolean accept(SudokuCandidates solved)
+        {
+            int n = count.incrementAndGet(); 
+            if(n == 1 && firstSolution != null)
+            {
+                for(int i = 0; i < 81; i++)
+                {
+                    firstSolution[i] = solved.getValue(i); 
+                }
+            }
+            
+            if(n >= limit)
+            {
+                stop.set(true); 
+                return false; 
+            }
+            return true; 
+        }
+    }
+    
+    private class BranchTask extends RecursiveAction // Explores the part of the search tree below one state, which the task owns. 
+    {
+        private static final long serialVersionUID = 1L; 
+        
+        private final SudokuCandidates state; 
+        private final int depth; 
+        private final Results results; 
+        
+        BranchTask(SudokuCandidates state, int depth, Results results)
+        {
+            this.state = state; 
+            this.depth = depth; 
+            this.results = results; 
+        }
+        
+        protected void compute()
+        {
+            if(results.stop.get())
+            {
+                return; 
+            }
+            
+            SudokuSolver solver = new SudokuSolver(state); 
+            if(depth >= splitDepth)
+            {
+                solver.searchAll(results, results.stop); 
+                return; 
+            }
+            
+            if(!solver.propagateState())
+            {
+                return; 
+            }
+            
+            if(state.getEmptyCount() == 0)
+            {
+                results.accept(state); 
+                return; 
+            }
+            
+            int best = solver.chooseBox(); 
+            int candidates = state.getCandidates(best); 
+            List<BranchTask> branches = new ArrayList<>(Integer.bitCount(candidates)); 
+            while(candidates != 0)
+            {
+                int num = Integer.numberOfTrailingZeros(candidates) + 1; 
+                candidates &= candidates - 1; 
+                
+                SudokuCandidates child = new SudokuCandidates(); 
+                child.copyFrom(state); 
+                child.place(best, num); 
+                branches.add(new BranchTask(child, depth + 1, results)); 
+            }
+            
+            invokeAll(branches); 
+        }
+    }
+}
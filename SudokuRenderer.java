@@ -0,0 +1,52 @@
+/**
+ * Renders a Sudoku board as text. Kept apart from the solvers so that solving never has to touch the console; rendering is an optional last step. 
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.io.*;
+
+public class SudokuRenderer
+{
+    public static String render(int[] board) // Returns the board drawn as a grid, with # lines marking the squares. 
+    {
+        StringBuilder out = new StringBuilder(2048); 
+        render(board, out); 
+        return out.toString(); 
+    }
+    
+    public static void render(int[] board, StringBuilder out) // Appends the board drawn as a grid to out. 
+    {
+        for(int i = 0; i < 9; i++) 
+        {
+            if((i == 3) || (i == 6))
+            { 
+                out.append("-#######################################################################-\n"); 
+            }
+            else
+            {
+                out.append("-------------------------------------------------------------------------\n"); 
+            }
+            out.append("|                       #                       #                       |\n"); 
+            for(int j = 0; j < 9; j++) 
+            {
+                if((j == 3) || (j == 6))
+                {
+                    out.append("#   ").append(board[i * 9 + j]).append("   ");  
+                }
+                else
+                {
+                    out.append("|   ").append(board[i * 9 + j]).append("   ");  
+                }
+            }
+            out.append("|\n|                       #                       #                       |\n"); 
+        }
+        out.append("-------------------------------------------------------------------------\n");
+    }
+    
+    public static void print(int[] board, PrintStream stream) // Writes the board drawn as a grid to a stream in a single call. 
+    {
+        stream.print(render(board)); 
+    }
+}
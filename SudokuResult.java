@@ -0,0 +1,165 @@
+/**
+ * Structured result of a budgeted solve (see SudokuSolver.solve(puzzle, budget, result)).
+ *
+ * The status is one of the SudokuEngine codes. On SOLVED the board is the solution. On BUDGET_EXCEEDED or CANCELLED it is the partial board
+ * that the logical techniques reached before any guess, and getCandidates() gives the possibilities left in each empty box, so a caller
+ * still gets the progress that was made. A result can be reused for any number of solves.
+ *
+ * On INVALID or NO_SOLUTION, getReason() tells why, along with the box, unit (numbered as in SudokuTables), and number involved where they apply:
+ * a puzzle without 81 boxes, a value outside 0 - 9, a given repeated in a unit, an empty box left without possibilities, or a number left without a place in a unit.
+ * The last two are found by propagation before any guess; a puzzle that only fails after guessing is reported EXHAUSTED.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public class SudokuResult
+{
+    public static final int NO_REASON = 0; // Solved, or stopped by the budget.
+    public static final int OUT_OF_RANGE = 1; // INVALID: a box holds a value outside 0 - 9.
+    public static final int REPEATED_GIVEN = 2; // INVALID: a given repeats a number already given in the same unit.
+    public static final int EMPTY_BOX = 3; // NO_SOLUTION: an empty box has no possibilities left.
+    public static final int NO_PLACE = 4; // NO_SOLUTION: a number has nowhere left to go in a unit.
+    public static final int EXHAUSTED = 5; // NO_SOLUTION: every guess led to one of the contradictions above.
+    public static final int WRONG_LENGTH = 6; // INVALID: the puzzle does not have 81 boxes. The number is how many it has.
+
+    private int status = SudokuEngine.NO_SOLUTION;
+    private int reason;
+    private int reasonBox = -1;
+    private int reasonUnit = -1;
+    private int reasonNumber;
+    private final int[] board = new int[81];
+    private final int[] candidates = new int[81]; // Candidate bitset of each box, bit (num - 1) set if num can still go there. 0 for a filled box.
+    private long nodes;
+    private long nanos;
+
+    void set(int status, int reason, SudokuCandidates state, long nodes, long nanos) // Filled in by the solver. The details of the reason come from state.
+    {
+        this.status = status;
+        this.reason = reason;
+        reasonBox = (reason == state.getReason()) ? state.getReasonBox() : -1;
+        reasonUnit = (reason == state.getReason()) ? state.getReasonUnit() : -1;
+        reasonNumber = (reason == state.getReason()) ? state.getReasonNumber() : 0;
+        for(int box = 0; box < 81; box++)
+        {
+            board[box] = state.getValue(box);
+            candidates[box] = state.getCandidates(box);
+        }
+        this.nodes = nodes;
+        this.nanos = nanos;
+    }
+
+    public int getStatus()
+    {
+        return status;
+    }
+
+    public boolean isSolved()
+    {
+        return status == SudokuEngine.SOLVED;
+    }
+
+    public boolean isPartial() // True if the budget ran out or the solve was cancelled, so the board is only partly filled.
+    {
+        return status == SudokuEngine.BUDGET_EXCEEDED || status == SudokuEngine.CANCELLED;
+    }
+
+    void clearReason() // For callers that reuse a result across engines that do not fill it in.
+    {
+        reason = NO_REASON;
+        reasonBox = -1;
+        reasonUnit = -1;
+        reasonNumber = 0;
+    }
+
+    public int getReason() // Why the puzzle is INVALID or has NO_SOLUTION: one of the reasons above.
+    {
+        return reason;
+    }
+
+    public int getReasonBox() // The box involved, or -1.
+    {
+        return reasonBox;
+    }
+
+    public int getReasonUnit() // The unit involved, numbered as in SudokuTables, or -1.
+    {
+        return reasonUnit;
+    }
+
+    public int getReasonNumber() // The number (or out of range value) involved, or 0.
+    {
+        return reasonNumber;
+    }
+
+    public static String describe(int reason, int box, int unit, int num) // Describes a reason in words, for messages.
+    {
+        String place = (box < 0) ? "" : " at row " + (box / 9 + 1) + ", column " + (box % 9 + 1);
+        String[] kinds = {"row", "column", "square"};
+        String where = (unit < 0) ? "" : " in " + kinds[unit / 9] + " " + (unit % 9 + 1);
+        switch(reason)
+        {
+            case OUT_OF_RANGE:
+                return "value " + num + place + " is not 0 - 9";
+            case REPEATED_GIVEN:
+                return num + place + " is already given" + where;
+            case EMPTY_BOX:
+                return "no number can go" + place;
+            case NO_PLACE:
+                return num + " has no place left" + where;
+            case EXHAUSTED:
+                return "every guess leads to a contradiction";
+            case WRONG_LENGTH:
+                return "the puzzle has " + num + " boxes, not 81";
+            default:
+                return "";
+        }
+    }
+
+    public String describeReason()
+    {
+        return describe(reason, reasonBox, reasonUnit, reasonNumber);
+    }
+
+    public void getBoard(int[] target) // Copies the board into an 81 number array.
+    {
+        System.arraycopy(board, 0, target, 0, 81);
+    }
+
+    public int getValue(int box)
+    {
+        return board[box];
+    }
+
+    public int getCandidates(int box) // Candidate bitset of a box on a partial board.
+    {
+        return candidates[box];
+    }
+
+    public long getNodes() // Guesses made.
+    {
+        return nodes;
+    }
+
+    public long getNanos() // Wall time of the solve.
+    {
+        return nanos;
+    }
+
+    public String toString()
+    {
+        String[] names = {"solved", "unsolvable", "invalid", "budget exceeded", "cancelled"};
+        StringBuilder text = new StringBuilder(names[status]).append(" after ").append(nodes).append(" guesses in ")
+            .append(String.format("%.1f", nanos / 1e3)).append(" us");
+        if(reason != NO_REASON)
+        {
+            text.append(": ").append(describeReason());
+        }
+        text.append('\n');
+        if(status != SudokuEngine.INVALID)
+        {
+            SudokuRenderer.render(board, text);
+        }
+        return text.toString();
+    }
+}
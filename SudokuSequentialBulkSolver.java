@@ -0,0 +1,33 @@
+/**
+ * The SudokuBulkSolver that SudokuBulkSolver.create() returns when the Vector API version cannot be loaded: it hands each puzzle to SudokuSolver in turn.
+ *
+ * There is no lockstep version with plain arrays: the passes of SudokuLaneBulkSolver written as loops over the lanes ran at 55 - 65% of
+ * SudokuSolver's speed on every corpus, so lockstep only pays with real vectors.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public class SudokuSequentialBulkSolver extends SudokuBulkSolver
+{
+    public String getImplementation()
+    {
+        return "sequential";
+    }
+
+    public int getLanes()
+    {
+        return 1;
+    }
+
+    public int solveAll(int[][] puzzles, int count, int[][] solutions, int[] statuses)
+    {
+        int solved = 0;
+        for(int p = 0; p < count; p++)
+        {
+            statuses[p] = finisher.solve(puzzles[p], solutions[p]);
+            solved += (statuses[p] == SOLVED) ? 1 : 0;
+        }
+        return solved;
+    }
+}
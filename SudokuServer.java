@@ -0,0 +1,419 @@
+/**
+ * Serves the solver over HTTP, using the JDK's built in com.sun.net.httpserver.
+ *
+ * POST /solve takes one puzzle (81 characters, 0 or . for an empty box) and answers 200 with the solution, 422 with "unsolvable" or "invalid",
+ * or 504 with "timeout" if the request's time budget runs out first. A 422 from a SudokuSolver engine names the contradiction found in an
+ * X-Sudoku-Reason header (see SudokuResult.getReason()).
+ * POST /batch takes any number of puzzles, one per line, and streams back one line per puzzle in the same order as each is solved,
+ * in the format of SudokuBatch, with "timeout" for the puzzles left once the request's time budget is spent. Lines that are not puzzles, or that
+ * repeat a given, are "invalid" whenever they arrive.
+ * GET /stats returns the SudokuStats counters and the state of the solver pool.
+ *
+ * Requests run on virtual threads when the JVM has them (Java 21 and later), and on a fixed pool of platform threads otherwise.
+ * Solving goes through a fixed pool of reusable engines. A request reads and parses its puzzle before it takes an engine, and a batch takes one
+ * for each puzzle in turn, so a slow client never holds an engine while it uploads. A request waits for a free engine for at most its time budget
+ * (budgetMillis in the query string, or the server default) and is turned away with 503 and Retry-After when none frees up,
+ * so a saturated server sheds load instead of queueing without bound. With the default SudokuSolver engines the same deadline also bounds
+ * each solve (see SudokuBudget).
+ *
+ * Usage: java SudokuServer [port] [-engines=n] [-budgetMillis=n]
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import com.sun.net.httpserver.*;
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+public class SudokuServer
+{
+    private static final int MAX_LINE = 128; // Longer lines cannot be puzzles; they are answered "invalid" without being buffered.
+    private static final byte[] UNSOLVABLE_LINE = "unsolvable\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INVALID_LINE = "invalid\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TIMEOUT_LINE = "timeout\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BlockingQueue<Worker> workers; // Idle engines. A request takes one only while it solves a puzzle.
+    private final int engineCount;
+    private final long defaultBudgetMillis;
+    private final LongAdder rejected = new LongAdder(); // Requests turned away because no engine freed up in time.
+
+    private static class Worker // An engine with its own scratch boards.
+    {
+        final SudokuEngine engine;
+        final int[] solution = new int[81];
+        final SudokuResult result = new SudokuResult();
+
+        Worker(SudokuEngine engine)
+        {
+            this.engine = engine;
+        }
+
+        int solve(int[] puzzle, long deadline) // Solves a puzzle into solution. A SudokuSolver stops at the deadline with BUDGET_EXCEEDED, and leaves the reason for a failure in result; other engines run to the end.
+        {
+            result.clearReason();
+            if(engine instanceof SudokuSolver)
+            {
+                int status = ((SudokuSolver) engine).solve(puzzle, SudokuBudget.until(deadline, 0), result);
+                result.getBoard(solution);
+                return status;
+            }
+            return engine.solve(puzzle, solution);
+        }
+    }
+
+    public SudokuServer(InetSocketAddress address, int engineCount, Supplier<SudokuEngine> engines, long defaultBudgetMillis) throws IOException
+    {
+        this.engineCount = engineCount;
+        this.defaultBudgetMillis = defaultBudgetMillis;
+        workers = new ArrayBlockingQueue<>(engineCount);
+        for(int i = 0; i < engineCount; i++)
+        {
+            workers.add(new Worker(engines.get()));
+        }
+
+        executor = requestExecutor();
+        server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/solve", this::solve);
+        server.createContext("/batch", this::batch);
+        server.createContext("/stats", this::stats);
+    }
+
+    static ExecutorService requestExecutor() // A virtual thread per request when the JVM supports it, found reflectively so the code still builds on Java 17.
+    {
+        try
+        {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch(ReflectiveOperationException e)
+        {
+            return Executors.newFixedThreadPool(Math.max(16, 4 * Runtime.getRuntime().availableProcessors()));
+        }
+    }
+
+    public void start()
+    {
+        server.start();
+    }
+
+    public void stop(int delaySeconds) // Stops accepting requests, waits up to delaySeconds for those in progress, then shuts the executor down.
+    {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public InetSocketAddress getAddress()
+    {
+        return server.getAddress();
+    }
+
+    private long budgetMillis(HttpExchange exchange) // The request's time budget: budgetMillis from the query string, or the server default.
+    {
+        String query = exchange.getRequestURI().getRawQuery();
+        if(query != null)
+        {
+            for(String parameter : query.split("&"))
+            {
+                if(parameter.startsWith("budgetMillis="))
+                {
+                    try
+                    {
+                        return Math.max(1, Long.parseLong(parameter.substring(13)));
+                    }
+                    catch(NumberFormatException e)
+                    {
+                        return defaultBudgetMillis;
+                    }
+                }
+            }
+        }
+        return defaultBudgetMillis;
+    }
+
+    private Worker take(long deadline) // Takes an idle engine, waiting until the deadline at most. Returns null if none frees up.
+    {
+        try
+        {
+            return workers.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Worker acquire(HttpExchange exchange, long deadline) throws IOException // Same as take(), but answers 503 if no engine frees up.
+    {
+        Worker worker = take(deadline);
+        if(worker == null)
+        {
+            rejected.increment();
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            respond(exchange, 503, "busy\n");
+        }
+        return worker;
+    }
+
+    private void solve(HttpExchange exchange) throws IOException // POST /solve: one puzzle.
+    {
+        if(!exchange.getRequestMethod().equals("POST"))
+        {
+            respond(exchange, 405, "POST a puzzle\n");
+            return;
+        }
+
+        long deadline = System.nanoTime() + budgetMillis(exchange) * 1000000;
+        byte[] line = new byte[MAX_LINE];
+        int[] puzzle = new int[81];
+        int length;
+        try(InputStream in = exchange.getRequestBody())
+        {
+            length = readLine(in, line);
+        }
+        if(length < 0 || !SudokuBatch.parse(ByteBuffer.wrap(line), 0, length, puzzle))
+        {
+            respond(exchange, 422, "invalid\n"); // Not a puzzle, so there is nothing for an engine to do.
+            return;
+        }
+
+        Worker worker = acquire(exchange, deadline);
+        if(worker == null)
+        {
+            return;
+        }
+
+        try
+        {
+            int status = worker.solve(puzzle, deadline);
+            if(status == SudokuEngine.SOLVED)
+            {
+                respond(exchange, 200, format(worker.solution));
+            }
+            else if(status == SudokuEngine.BUDGET_EXCEEDED)
+            {
+                respond(exchange, 504, "timeout\n");
+            }
+            else
+            {
+                if(worker.result.getReason() != SudokuResult.NO_REASON)
+                {
+                    exchange.getResponseHeaders().set("X-Sudoku-Reason", worker.result.describeReason());
+                }
+                respond(exchange, 422, (status == SudokuEngine.INVALID) ? "invalid\n" : "unsolvable\n");
+            }
+        }
+        finally
+        {
+            workers.add(worker);
+        }
+    }
+
+    private void batch(HttpExchange exchange) throws IOException // POST /batch: one puzzle per line, answered line by line as each is solved.
+    {
+        if(!exchange.getRequestMethod().equals("POST"))
+        {
+            respond(exchange, 405, "POST puzzles, one per line\n");
+            return;
+        }
+
+        long deadline = System.nanoTime() + budgetMillis(exchange) * 1000000;
+        byte[] line = new byte[MAX_LINE];
+        ByteBuffer lineBuffer = ByteBuffer.wrap(line);
+        int[] puzzle = new int[81];
+        byte[] output = new byte[82];
+        SudokuCandidates givens = null; // Checks the givens of puzzles left after the deadline, without an engine.
+        OutputStream out = null; // Opened with the first result, so a batch that cannot get an engine for its first puzzle can still be answered 503.
+        try(InputStream in = new BufferedInputStream(exchange.getRequestBody(), 1 << 16))
+        {
+            int length;
+            while((length = readLine(in, line)) != -2)
+            {
+                if(length == 0)
+                {
+                    continue; // Blank line.
+                }
+
+                // A line that is not a puzzle, or repeats a given, is answered "invalid" even after the deadline; a puzzle takes an engine only while it is solved.
+                int status = SudokuEngine.INVALID;
+                if(length >= 0 && SudokuBatch.parse(lineBuffer, 0, length, puzzle))
+                {
+                    status = SudokuEngine.BUDGET_EXCEEDED;
+                    if(System.nanoTime() - deadline >= 0)
+                    {
+                        givens = (givens == null) ? new SudokuCandidates() : givens;
+                        status = givens.load(puzzle) ? SudokuEngine.BUDGET_EXCEEDED : SudokuEngine.INVALID;
+                    }
+                    else
+                    {
+                        Worker worker = (out == null) ? acquire(exchange, deadline) : take(deadline);
+                        if(worker == null && out == null)
+                        {
+                            return; // Answered 503.
+                        }
+                        if(worker != null)
+                        {
+                            try
+                            {
+                                status = worker.solve(puzzle, deadline);
+                                formatInto(worker.solution, output);
+                            }
+                            finally
+                            {
+                                workers.add(worker);
+                            }
+                        }
+                    }
+                }
+
+                if(out == null)
+                {
+                    out = startStream(exchange);
+                }
+                if(status == SudokuEngine.SOLVED)
+                {
+                    out.write(output, 0, 82);
+                }
+                else if(status == SudokuEngine.BUDGET_EXCEEDED)
+                {
+                    out.write(TIMEOUT_LINE);
+                }
+                else
+                {
+                    out.write(status == SudokuEngine.INVALID ? INVALID_LINE : UNSOLVABLE_LINE);
+                }
+
+                if(in.available() == 0)
+                {
+                    out.flush(); // Nothing else has arrived yet, so send what is ready instead of holding it back.
+                }
+            }
+
+            if(out == null)
+            {
+                out = startStream(exchange); // No puzzles at all.
+            }
+        }
+        finally
+        {
+            if(out != null)
+            {
+                out.close();
+            }
+        }
+    }
+
+    private static OutputStream startStream(HttpExchange exchange) throws IOException // Sends 200 with a chunked body, so results can be written as they are ready.
+    {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+        exchange.sendResponseHeaders(200, 0);
+        return new BufferedOutputStream(exchange.getResponseBody(), 1 << 16);
+    }
+
+    private void stats(HttpExchange exchange) throws IOException // GET /stats.
+    {
+        String text = "engines=" + engineCount + " idle=" + workers.size() + " rejected=" + rejected.sum() + "\n";
+        if(SudokuStats.ENABLED)
+        {
+            text += SudokuStats.GLOBAL.snapshot() + "\n";
+        }
+        respond(exchange, 200, text);
+    }
+
+    static int readLine(InputStream in, byte[] line) throws IOException // Reads one line without its line break. Returns its length, -1 if it was longer than the buffer (the rest is skipped), or -2 at the end of the stream.
+    {
+        int length = 0;
+        boolean tooLong = false;
+        int c;
+        while((c = in.read()) >= 0 && c != '\n')
+        {
+            if(length < line.length)
+            {
+                line[length++] = (byte) c;
+            }
+            else
+            {
+                tooLong = true;
+            }
+        }
+
+        if(c < 0 && length == 0 && !tooLong)
+        {
+            return -2;
+        }
+        if(tooLong)
+        {
+            return -1;
+        }
+        if(length > 0 && line[length - 1] == '\r')
+        {
+            length--;
+        }
+        return length;
+    }
+
+    private static int formatInto(int[] solution, byte[] output) // Writes a solution and a newline as ASCII. Returns the number of bytes.
+    {
+        for(int box = 0; box < 81; box++)
+        {
+            output[box] = (byte) ('0' + solution[box]);
+        }
+        output[81] = '\n';
+        return 82;
+    }
+
+    private static String format(int[] solution)
+    {
+        byte[] output = new byte[82];
+        return new String(output, 0, formatInto(solution, output), StandardCharsets.US_ASCII);
+    }
+
+    private static void respond(HttpExchange exchange, int code, String text) throws IOException // Sends a whole plain text response and closes the exchange.
+    {
+        byte[] body = text.getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+        exchange.sendResponseHeaders(code, body.length);
+        try(OutputStream out = exchange.getResponseBody())
+        {
+            out.write(body);
+        }
+    }
+
+    public static void main(String args[]) throws Exception
+    {
+        int port = 8080;
+        int engines = Runtime.getRuntime().availableProcessors();
+        long budgetMillis = 1000;
+        for(String arg : args)
+        {
+            if(arg.startsWith("-engines="))
+            {
+                engines = Integer.parseInt(arg.substring(9));
+            }
+            else if(arg.startsWith("-budgetMillis="))
+            {
+                budgetMillis = Long.parseLong(arg.substring(14));
+            }
+            else
+            {
+                port = Integer.parseInt(arg);
+            }
+        }
+
+        SudokuServer server = new SudokuServer(new InetSocketAddress(port), engines, SudokuSolver::new, budgetMillis);
+        if(SudokuStats.ENABLED)
+        {
+            SudokuStats.GLOBAL.register(); // The same counters as GET /stats.
+        }
+        server.start();
+        System.out.println("Serving on port " + server.getAddress().getPort() + " with " + engines + " engines and a " + budgetMillis + " ms default budget.");
+    }
+}
@@ -0,0 +1,471 @@
+/**
+ * One player's game: the board and its candidates, kept across moves, with hints worked out from where the player is.
+ *
+ * Placing a number updates the candidates in place, as in SudokuCandidates. Erasing one rebuilds them from the givens and the player's other
+ * numbers, then makes again the hint eliminations that did not rest on the erased number: those applied before it was placed. The rest go,
+ * since a hint worked out with the number on the board may have needed it. A rebuild takes under a microsecond.
+ *
+ * nextHint() finds the cheapest deduction the board allows, trying in order:
+ * a contradiction (a box with no candidates, or a number with no place left in a unit), a naked single, a hidden single (squares, then rows,
+ * then columns), a pointing pair, then each SudokuStrategy of SudokuStrategies.pipeline() on a scratch copy. Only when all of them are stuck does it
+ * search, and then it reveals the solution's number for the empty box with the fewest candidates. A hint says which technique it used, the box
+ * and number it places or the eliminations it makes, and the unit involved where there is one. apply() plays a hint on the board.
+ *
+ * A session is used by one thread at a time. Moves and hints below the search allocate nothing.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.util.*;
+
+public class SudokuSession
+{
+    public static final int CONTRADICTION = 0; // Techniques a hint can use. The board is broken; the hint gives the box or the unit and number.
+    public static final int NAKED_SINGLE = 1; // A box with one candidate left.
+    public static final int HIDDEN_SINGLE = 2; // A number with one place left in a unit.
+    public static final int POINTING_PAIR = 3; // A number whose places in a square all lie in one row or column; the unit is that row or column.
+    public static final int STRATEGY = 4; // One of the SudokuStrategy techniques, named by getName().
+    public static final int SEARCH = 5; // Nothing logical applies; the box's number is taken from the solution.
+    public static final int COMPLETE = 6; // The board is full.
+
+    private static final String[] NAMES = {"contradiction", "naked single", "hidden single", "pointing pair", "", "search", "complete"};
+
+    private final SudokuCandidates state = new SudokuCandidates(); // The player's board. Its undo trail is cleared after every move.
+    private final boolean[] given = new boolean[81];
+    private final int[] board = new int[81]; // The givens and the player's numbers, which erasing rebuilds the candidates from.
+    private final int[] placedAt = new int[81]; // The move count when the player filled each box.
+    private final int[] eliminatedAt = new int[81 * 9]; // For each box and number, at [box * 9 + num - 1], one more than the move count when a hint removed it; 0 if no hint did.
+    private int moves;
+    private final SudokuCandidates scratch = new SudokuCandidates(); // Copy of the board for the strategies and the search to work on.
+    private final SudokuStrategy[] strategies = SudokuStrategies.pipeline();
+    private final SudokuSolver searcher = new SudokuSolver(scratch);
+    private boolean validGivens;
+
+    public static class Hint // Filled in by nextHint(). Reused from one hint to the next.
+    {
+        private int technique = COMPLETE;
+        private String name = NAMES[COMPLETE];
+        private int box = -1;
+        private int number;
+        private int unit = -1;
+        private final int[] eliminated = new int[81]; // Numbers removed from each box, bit (num - 1) as in SudokuCandidates.
+        private int eliminationCount;
+
+        private void set(int technique, String name, int box, int number, int unit)
+        {
+            if(eliminationCount > 0)
+            {
+                Arrays.fill(eliminated, 0);
+                eliminationCount = 0;
+            }
+            this.technique = technique;
+            this.name = name;
+            this.box = box;
+            this.number = number;
+            this.unit = unit;
+        }
+
+        private void eliminate(int box, int numbers)
+        {
+            eliminated[box] |= numbers;
+            eliminationCount += Integer.bitCount(numbers);
+        }
+
+        public int getTechnique()
+        {
+            return technique;
+        }
+
+        public String getName() // The technique in words; for STRATEGY, the strategy's own name.
+        {
+            return name;
+        }
+
+        public boolean isPlacement() // True if the hint places number in box; otherwise it only eliminates.
+        {
+            return technique == NAKED_SINGLE || technique == HIDDEN_SINGLE || technique == SEARCH;
+        }
+
+        public int getBox() // The box placed in, or the empty box of a contradiction. -1 if none.
+        {
+            return box;
+        }
+
+        public int getNumber() // The number placed, or the number of a pointing pair or a contradiction in a unit. 0 if none.
+        {
+            return number;
+        }
+
+        public int getUnit() // The unit involved, numbered as in SudokuTables. -1 if none.
+        {
+            return unit;
+        }
+
+        public int getEliminationCount() // Candidates the hint removes, over every box.
+        {
+            return eliminationCount;
+        }
+
+        public int getEliminated(int box) // The numbers the hint removes from a box, as a candidate bitset.
+        {
+            return eliminated[box];
+        }
+
+        public String toString()
+        {
+            StringBuilder text = new StringBuilder(name);
+            if(box >= 0)
+            {
+                text.append(" at row ").append(box / 9 + 1).append(", column ").append(box % 9 + 1);
+            }
+            if(isPlacement())
+            {
+                text.append(": ").append(number);
+            }
+            else if(technique == CONTRADICTION && unit >= 0)
+            {
+                text.append(": ").append(SudokuResult.describe(SudokuResult.NO_PLACE, -1, unit, number));
+            }
+            else if(technique == CONTRADICTION && box < 0)
+            {
+                text.append(": ").append(SudokuResult.describe(SudokuResult.EXHAUSTED, -1, -1, 0)); // The search found no solution.
+            }
+            for(int b = 0; b < 81; b++)
+            {
+                for(int rest = eliminated[b]; rest != 0; rest &= rest - 1)
+                {
+                    text.append(" -").append(Integer.numberOfTrailingZeros(rest) + 1).append('@').append(b / 9 + 1).append(b % 9 + 1);
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    public SudokuSession(int[] puzzle) // Starts a game on an 81 number puzzle, 0 for an empty box. Check isValid() for bad givens.
+    {
+        validGivens = state.load(puzzle);
+        for(int box = 0; box < 81; box++)
+        {
+            given[box] = puzzle[box] != 0;
+            board[box] = puzzle[box];
+        }
+    }
+
+    public boolean isValid() // False if the givens repeat a number in a unit or hold a value outside 0 - 9.
+    {
+        return validGivens;
+    }
+
+    public boolean place(int box, int num) // Puts num in a box that is not a given, replacing what the player put there before. Returns false, changing nothing, if num cannot go there.
+    {
+        if(given[box] || num < 1 || num > 9)
+        {
+            return false;
+        }
+        int old = state.getValue(box);
+        if(old == num)
+        {
+            return true;
+        }
+        if(old != 0)
+        {
+            if(eliminatedAt[box * 9 + num - 1] != 0 || peerHolds(box, num)) // Hints made on this box were all applied before it was filled, so they stand.
+            {
+                return false;
+            }
+            forget(box);
+            board[box] = num; // Set before the rebuild, which places it.
+            rebuild();
+        }
+        else if(!state.place(box, num))
+        {
+            return false;
+        }
+        else
+        {
+            board[box] = num;
+        }
+        placedAt[box] = ++moves;
+        state.clearTrail();
+        return true;
+    }
+
+    public boolean erase(int box) // Empties a box the player filled. Returns false for a given.
+    {
+        if(given[box])
+        {
+            return false;
+        }
+        if(board[box] != 0)
+        {
+            forget(box);
+            board[box] = 0;
+            rebuild();
+        }
+        return true;
+    }
+
+    private boolean peerHolds(int box, int num) // True if a box sharing a unit with this one holds num.
+    {
+        for(int p = box * 20; p < box * 20 + 20; p++)
+        {
+            if(board[SudokuTables.PEERS[p]] == num)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void forget(int box) // Drops the hint eliminations applied while the player's number was in the box.
+    {
+        int placed = placedAt[box];
+        for(int i = 0; i < eliminatedAt.length; i++)
+        {
+            if(eliminatedAt[i] > placed)
+            {
+                eliminatedAt[i] = 0;
+            }
+        }
+        placedAt[box] = 0;
+    }
+
+    private void rebuild() // Loads the board again and makes the hint eliminations that are left.
+    {
+        state.load(board);
+        for(int i = 0; i < eliminatedAt.length; i++)
+        {
+            if(eliminatedAt[i] != 0 && board[i / 9] == 0)
+            {
+                state.eliminate(i / 9, i % 9 + 1);
+            }
+        }
+        state.clearTrail();
+    }
+
+    public void apply(Hint hint) // Plays a hint from nextHint() on the board: places its number or makes its eliminations.
+    {
+        if(hint.isPlacement())
+        {
+            place(hint.getBox(), hint.getNumber());
+            return;
+        }
+        if(hint.getEliminationCount() == 0)
+        {
+            return;
+        }
+        for(int box = 0; box < 81; box++)
+        {
+            for(int rest = hint.getEliminated(box); rest != 0; rest &= rest - 1)
+            {
+                int num = Integer.numberOfTrailingZeros(rest) + 1;
+                if(state.eliminate(box, num))
+                {
+                    eliminatedAt[box * 9 + num - 1] = moves + 1;
+                }
+            }
+        }
+        state.clearTrail();
+    }
+
+    public int getValue(int box)
+    {
+        return state.getValue(box);
+    }
+
+    public int getCandidates(int box) // Candidate bitset of a box, bit (num - 1) set if num can still go there. 0 for a filled box.
+    {
+        return state.getCandidates(box);
+    }
+
+    public boolean isGiven(int box)
+    {
+        return given[box];
+    }
+
+    public boolean isComplete() // True once every box is filled. A full board is always a solution, since a number can only be placed where it is a candidate.
+    {
+        return state.getEmptyCount() == 0;
+    }
+
+    public int nextHint(Hint hint) // Finds the cheapest deduction, fills hint with it, and returns its technique. The board is not changed.
+    {
+        if(state.getEmptyCount() == 0)
+        {
+            hint.set(COMPLETE, NAMES[COMPLETE], -1, 0, -1);
+            return COMPLETE;
+        }
+        if(findSingle(hint) || findHiddenSingle(hint) || findPointingPair(hint) || findStrategy(hint))
+        {
+            return hint.technique;
+        }
+        reveal(hint);
+        return hint.technique;
+    }
+
+    private boolean findSingle(Hint hint) // Naked singles, or an empty box without candidates.
+    {
+        for(int box = 0; box < 81; box++)
+        {
+            int candidates = state.getCandidates(box);
+            if(candidates == 0 && state.getValue(box) == 0)
+            {
+                hint.set(CONTRADICTION, NAMES[CONTRADICTION], box, 0, -1);
+                return true;
+            }
+            if(candidates != 0 && (candidates & (candidates - 1)) == 0)
+            {
+                hint.set(NAKED_SINGLE, NAMES[NAKED_SINGLE], box, Integer.numberOfTrailingZeros(candidates) + 1, -1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean findHiddenSingle(Hint hint) // Hidden singles, or a number without a place in a unit. Squares come first, since they are the easiest to spot.
+    {
+        for(int u = 0; u < 27; u++)
+        {
+            int unit = (u + SudokuTables.SQUARE_UNITS) % 27;
+            int once = 0;
+            int twice = 0;
+            for(int k = unit * 9; k < unit * 9 + 9; k++)
+            {
+                int candidates = state.getCandidates(SudokuTables.UNIT_BOXES[k]);
+                twice |= once & candidates;
+                once |= candidates;
+            }
+
+            int missing = ~(once | state.getUnitMask(unit)) & SudokuCandidates.ALL;
+            if(missing != 0)
+            {
+                hint.set(CONTRADICTION, NAMES[CONTRADICTION], -1, Integer.numberOfTrailingZeros(missing) + 1, unit);
+                return true;
+            }
+
+            int single = once & ~twice;
+            if(single != 0)
+            {
+                int bit = single & -single;
+                for(int k = unit * 9; k < unit * 9 + 9; k++)
+                {
+                    int box = SudokuTables.UNIT_BOXES[k];
+                    if((state.getCandidates(box) & bit) != 0)
+                    {
+                        hint.set(HIDDEN_SINGLE, NAMES[HIDDEN_SINGLE], box, Integer.numberOfTrailingZeros(bit) + 1, unit);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean findPointingPair(Hint hint) // As SudokuSolver.pointingPairs(), but stops at the first one that removes anything.
+    {
+        for(int square = 0; square < 9; square++)
+        {
+            int first = (SudokuTables.SQUARE_UNITS + square) * 9;
+            for(int num = 1; num < 10; num++)
+            {
+                int bit = 1 << (num - 1);
+                int rows = 0;
+                int columns = 0;
+                for(int k = first; k < first + 9; k++)
+                {
+                    int box = SudokuTables.UNIT_BOXES[k];
+                    if((state.getCandidates(box) & bit) != 0)
+                    {
+                        rows |= 1 << SudokuTables.ROW[box];
+                        columns |= 1 << SudokuTables.COLUMN[box];
+                    }
+                }
+
+                int line = -1;
+                if(rows != 0 && (rows & (rows - 1)) == 0 && pointsOut(SudokuTables.ROW_UNITS + Integer.numberOfTrailingZeros(rows), square, bit))
+                {
+                    line = SudokuTables.ROW_UNITS + Integer.numberOfTrailingZeros(rows);
+                }
+                else if(columns != 0 && (columns & (columns - 1)) == 0 && pointsOut(SudokuTables.COLUMN_UNITS + Integer.numberOfTrailingZeros(columns), square, bit))
+                {
+                    line = SudokuTables.COLUMN_UNITS + Integer.numberOfTrailingZeros(columns);
+                }
+                if(line < 0)
+                {
+                    continue;
+                }
+
+                hint.set(POINTING_PAIR, NAMES[POINTING_PAIR], -1, num, line);
+                for(int k = line * 9; k < line * 9 + 9; k++)
+                {
+                    int box = SudokuTables.UNIT_BOXES[k];
+                    if(SudokuTables.SQUARE[box] != square && (state.getCandidates(box) & bit) != 0)
+                    {
+                        hint.eliminate(box, bit);
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean pointsOut(int line, int square, int bit) // True if bit is a candidate somewhere in the line outside the square.
+    {
+        for(int k = line * 9; k < line * 9 + 9; k++)
+        {
+            int box = SudokuTables.UNIT_BOXES[k];
+            if(SudokuTables.SQUARE[box] != square && (state.getCandidates(box) & bit) != 0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean findStrategy(Hint hint) // The first strategy that removes something from a copy of the board. Its eliminations are the difference.
+    {
+        scratch.copyFrom(state);
+        for(SudokuStrategy strategy : strategies)
+        {
+            if(strategy.apply(scratch))
+            {
+                hint.set(STRATEGY, strategy.getName(), -1, 0, -1);
+                for(int box = 0; box < 81; box++)
+                {
+                    int removed = state.getCandidates(box) & ~scratch.getCandidates(box);
+                    if(removed != 0)
+                    {
+                        hint.eliminate(box, removed);
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reveal(Hint hint) // Solves a copy of the board and gives the number of its empty box with the fewest candidates.
+    {
+        int best = -1;
+        for(int box = 0; box < 81; box++)
+        {
+            int count = state.countCandidates(box);
+            if(count != 0 && (best < 0 || count < state.countCandidates(best)))
+            {
+                best = box;
+            }
+        }
+
+        scratch.copyFrom(state);
+        if(searcher.solveWithSearch())
+        {
+            hint.set(SEARCH, NAMES[SEARCH], best, scratch.getValue(best), -1);
+        }
+        else
+        {
+            hint.set(CONTRADICTION, "no solution", -1, 0, -1); // Every box still has options, but no way of filling them all works; some earlier move was wrong.
+        }
+    }
+}
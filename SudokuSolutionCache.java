@@ -0,0 +1,245 @@
+/**
+ * A bounded, thread safe cache of solutions, keyed by the canonical form of each puzzle (see SudokuSymmetry).
+ *
+ * A puzzle that was already solved, or that is the same as a solved puzzle up to relabeling, transposing, or permuting rows, columns,
+ * bands, or stacks, is answered from the cache: the solution is stored in canonical form and mapped back through the inverse transform.
+ * Puzzles with no solution are cached too. Invalid puzzles are left to the engine, which rejects them without searching.
+ *
+ * Some puzzles go straight to the engine, counted as bypasses: those with more than MAX_CLUES clues, which singles solve in a few microseconds,
+ * less than canonicalizing them would take, and those whose rows and columns tie in too many ways for SudokuSymmetry to canonicalize cheaply.
+ *
+ * Keys are the canonical board packed four bits per box into six longs. Each engine looks up with its own reusable key, so a hit allocates nothing. The entries are spread over SEGMENTS access ordered LinkedHashMaps,
+ * each guarded by its own lock and evicting its least recently used entry once full, so threads working on different puzzles rarely wait on each other.
+ *
+ * The cache itself is shared. Each thread solves through its own engine(), which owns the canonicalizer and the scratch boards.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+public class SudokuSolutionCache
+{
+    private static final int SEGMENTS = 16; // Independent LRU maps; a power of two.
+    private static final byte[] UNSOLVABLE = new byte[0]; // Stored for puzzles proven to have no solution.
+    public static final int MAX_CLUES = 45; // Puzzles with more clues than this are not cached.
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+
+    public SudokuSolutionCache(int capacity) // Creates a cache holding at most capacity puzzles (rounded up to a multiple of SEGMENTS).
+    {
+        if(capacity < 1)
+        {
+            throw new IllegalArgumentException("Cache capacity must be positive, was " + capacity);
+        }
+        for(int s = 0; s < SEGMENTS; s++)
+        {
+            segments[s] = new Segment((capacity + SEGMENTS - 1) / SEGMENTS);
+        }
+    }
+
+    private static final class Key // Canonical board, packed four bits per box. Keys in the maps are never changed; an engine's lookup key is refilled for every puzzle.
+    {
+        private final long[] packed = new long[6];
+        private int hash;
+
+        void rehash() // Call after changing packed.
+        {
+            hash = Arrays.hashCode(packed);
+        }
+
+        Key copy()
+        {
+            Key key = new Key();
+            System.arraycopy(packed, 0, key.packed, 0, 6);
+            key.hash = hash;
+            return key;
+        }
+
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        public boolean equals(Object other)
+        {
+            return other instanceof Key && Arrays.equals(packed, ((Key) other).packed);
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<Key, byte[]> // One LRU map. Values are the canonical solution, one number per byte.
+    {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        Segment(int capacity)
+        {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest)
+        {
+            if(size() > capacity)
+            {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private byte[] get(Key key)
+    {
+        Segment segment = segments[key.hash & (SEGMENTS - 1)];
+        synchronized(segment)
+        {
+            return segment.get(key);
+        }
+    }
+
+    private void put(Key key, byte[] solution)
+    {
+        Segment segment = segments[key.hash & (SEGMENTS - 1)];
+        synchronized(segment)
+        {
+            segment.put(key, solution);
+        }
+    }
+
+    public SudokuEngine engine(SudokuEngine engine) // Returns an engine that solves through this cache, falling back to engine on a miss. Use one per thread, like the engine itself.
+    {
+        return new CachedEngine(engine);
+    }
+
+    public static Supplier<SudokuEngine> engines(SudokuSolutionCache cache, Supplier<SudokuEngine> engines) // Wraps a supplier of engines (for SudokuParallelBatch, say) so every engine it makes shares the cache.
+    {
+        return () -> cache.engine(engines.get());
+    }
+
+    private final class CachedEngine implements SudokuEngine
+    {
+        private final SudokuEngine engine;
+        private final SudokuSymmetry symmetry = new SudokuSymmetry();
+        private final int[] canonicalPuzzle = new int[81];
+        private final int[] canonicalSolution = new int[81];
+        private final Key key = new Key();
+
+        CachedEngine(SudokuEngine engine)
+        {
+            this.engine = engine;
+        }
+
+        public int solve(int[] puzzle, int[] solution)
+        {
+            int clues = 0;
+            for(int box = 0; box < 81; box++)
+            {
+                if(puzzle[box] < 0 || puzzle[box] > 9)
+                {
+                    return engine.solve(puzzle, solution); // Not a board the canonical form can describe; the engine reports it.
+                }
+                clues += (puzzle[box] != 0) ? 1 : 0;
+            }
+
+            if(clues > MAX_CLUES || !symmetry.canonicalize(puzzle))
+            {
+                bypasses.increment();
+                return engine.solve(puzzle, solution);
+            }
+            symmetry.pack(key.packed);
+            key.rehash();
+            byte[] cached = get(key);
+            if(cached == null)
+            {
+                misses.increment();
+                symmetry.getCanonical(canonicalPuzzle);
+                int status = engine.solve(canonicalPuzzle, canonicalSolution);
+                if(status == INVALID)
+                {
+                    System.arraycopy(puzzle, 0, solution, 0, 81);
+                    return INVALID;
+                }
+                cached = UNSOLVABLE;
+                if(status == SOLVED)
+                {
+                    cached = new byte[81];
+                    for(int box = 0; box < 81; box++)
+                    {
+                        cached[box] = (byte) canonicalSolution[box];
+                    }
+                }
+                put(key.copy(), cached);
+            }
+            else
+            {
+                hits.increment();
+            }
+
+            if(cached == UNSOLVABLE)
+            {
+                System.arraycopy(puzzle, 0, solution, 0, 81);
+                return NO_SOLUTION;
+            }
+            for(int box = 0; box < 81; box++)
+            {
+                canonicalSolution[box] = cached[box];
+            }
+            symmetry.restore(canonicalSolution, solution);
+            return SOLVED;
+        }
+
+        public int countSolutions(int[] puzzle, int limit, int[] firstSolution) // Not cached: counts depend on the limit.
+        {
+            return engine.countSolutions(puzzle, limit, firstSolution);
+        }
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    public long getEvictions()
+    {
+        return evictions.sum();
+    }
+
+    public long getBypasses() // Puzzles solved without the cache, having too many clues or too many symmetries.
+    {
+        return bypasses.sum();
+    }
+
+    public int size() // Number of puzzles currently cached.
+    {
+        int size = 0;
+        for(Segment segment : segments)
+        {
+            synchronized(segment)
+            {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public String toString()
+    {
+        long hitCount = getHits();
+        long lookups = hitCount + getMisses();
+        return "size=" + size() + " hits=" + hitCount + " misses=" + getMisses() + " evictions=" + getEvictions() + " bypasses=" + getBypasses()
+            + " hitRate=" + String.format("%.3f", (lookups == 0) ? 0.0 : (double) hitCount / lookups);
+    }
+}
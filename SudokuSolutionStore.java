@@ -0,0 +1,368 @@
+/**
+ * A file of precomputed solutions, memory mapped read only, so that any number of processes on a host share one copy of it through the page cache.
+ *
+ * The file is a hash table with open addressing. After a HEADER_BYTES header (MAGIC, VERSION, slot count, entry count) come the slots, SLOT_BYTES each:
+ * the puzzle packed as in SudokuPacked (41 bytes) at 0, the solution packed the same way at SOLUTION_OFFSET, and a state byte last (EMPTY, SOLVED_SLOT,
+ * or UNSOLVABLE_SLOT). Solutions could take the 19 byte SudokuPacked form, but decoding that costs more than the rest of a lookup together,
+ * so the store spends the space instead. The slot count is a power of two, at least twice the entry count. A puzzle's hash picks its first slot,
+ * and the following slots are probed in turn until the puzzle or an empty slot turns up, so a lookup usually reads one slot.
+ * Keys are compared eight bytes at a time: sixteen boxes packed as in SudokuPacked are one big endian long.
+ *
+ * Opening maps the file and checks its header, so it takes about as long for a large store as for a small one. Lookups only read the mappings,
+ * with absolute gets, so they take no locks, allocate nothing, and can run on any number of threads at once. Maps over 1.5 GB are split into
+ * SEGMENT_SLOTS slot segments, since one mapping cannot pass 2 GB.
+ *
+ * SudokuSolver and SudokuDispatcher check the store set by SudokuSolver.setSolutionStore() before solving. Running with -Dsudoku.store=path opens one at startup.
+ *
+ * The store is written by the tool below. build solves every puzzle of the text files given (one per line, as SudokuBatch reads them) and writes a new store;
+ * append adds the puzzles that are not in the store yet. Both write a temporary file and move it over the store in one step, so processes that
+ * already have the store open keep reading the old file, and the next open sees the new one.
+ *
+ * Usage: java SudokuSolutionStore build store.bin puzzles.txt [more.txt ...]
+ *        java SudokuSolutionStore append store.bin puzzles.txt [more.txt ...]
+ *        java SudokuSolutionStore info store.bin
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+public class SudokuSolutionStore
+{
+    public static final int MISSING = -1; // Returned by lookup() for a puzzle the store does not hold.
+
+    public static final long MAGIC = 0x53554B4F53544F52L; // "SUKOSTOR"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 64;
+    public static final int SLOT_BYTES = 96;
+    private static final int SOLUTION_OFFSET = 48;
+    private static final int STATE_OFFSET = SLOT_BYTES - 1;
+    private static final byte EMPTY = 0; // Slot states.
+    private static final byte SOLVED_SLOT = 1;
+    private static final byte UNSOLVABLE_SLOT = 2;
+    private static final long NIBBLES = 0x1111111111111111L; // The low bit of every box of a packed long.
+    private static final int SEGMENT_BITS = 24;
+    public static final int SEGMENT_SLOTS = 1 << SEGMENT_BITS; // Slots per mapping, 1.5 GB.
+    public static final int MAX_SLOTS = 1 << 30;
+
+    private final ByteBuffer[] segments;
+    private final int slotMask;
+    private final int entries;
+
+    private SudokuSolutionStore(ByteBuffer[] segments, int slots, int entries)
+    {
+        this.segments = segments;
+        this.slotMask = slots - 1;
+        this.entries = entries;
+    }
+
+    public static SudokuSolutionStore open(Path path) throws IOException // Maps a store read only. Throws IOException if the file is not a store.
+    {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while(header.hasRemaining() && channel.read(header, header.position()) > 0)
+            {
+                // Keep reading until the whole header is in.
+            }
+            int slots = header.getInt(12);
+            if(header.hasRemaining() || header.getLong(0) != MAGIC || header.getInt(8) != VERSION
+                || slots <= 0 || slots > MAX_SLOTS || (slots & (slots - 1)) != 0 || channel.size() < HEADER_BYTES + (long) slots * SLOT_BYTES)
+            {
+                throw new IOException(path + " is not a solution store");
+            }
+
+            ByteBuffer[] segments = new ByteBuffer[(slots + SEGMENT_SLOTS - 1) >>> SEGMENT_BITS];
+            for(int s = 0; s < segments.length; s++)
+            {
+                long first = (long) s << SEGMENT_BITS;
+                long size = Math.min(SEGMENT_SLOTS, slots - first) * (long) SLOT_BYTES;
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * SLOT_BYTES, size); // Mappings outlive the channel.
+            }
+            return new SudokuSolutionStore(segments, slots, header.getInt(16));
+        }
+    }
+
+    static SudokuSolutionStore fromProperty() // The store named by -Dsudoku.store, or null if it is not set.
+    {
+        String path = System.getProperty("sudoku.store");
+        if(path == null || path.isEmpty())
+        {
+            return null;
+        }
+        try
+        {
+            return open(Paths.get(path));
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException("Cannot open -Dsudoku.store=" + path, e);
+        }
+    }
+
+    public int getEntryCount()
+    {
+        return entries;
+    }
+
+    public int getSlotCount()
+    {
+        return slotMask + 1;
+    }
+
+    public int lookup(int[] puzzle, int[] solution) // Looks an 81 number puzzle up. Returns SOLVED with the solution written into solution, NO_SOLUTION, or MISSING, also for a slot whose solution has an empty box, a value above 9, or a changed given. Repeats in a unit are left to the caller, which finds them loading the grid.
+    {
+        long hash = hash(puzzle);
+        if(hash == -1)
+        {
+            return MISSING; // Puzzles without 81 boxes or with values outside 0 - 9 are never stored.
+        }
+
+        for(int slot = (int) hash & slotMask; ; slot = (slot + 1) & slotMask)
+        {
+            ByteBuffer segment = segments[slot >>> SEGMENT_BITS];
+            int position = (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+            byte state = segment.get(position + STATE_OFFSET);
+            if(state == EMPTY)
+            {
+                return MISSING;
+            }
+            if(matches(segment, position, puzzle))
+            {
+                if(state == UNSOLVABLE_SLOT)
+                {
+                    return SudokuEngine.NO_SOLUTION;
+                }
+                if(!holdsGivens(segment, position) || !SudokuPacked.unpackPuzzle(segment, position + SOLUTION_OFFSET, solution))
+                {
+                    return MISSING; // A corrupt slot is solved again rather than trusted.
+                }
+                return SudokuEngine.SOLVED;
+            }
+        }
+    }
+
+    private static boolean holdsGivens(ByteBuffer slots, int position) // True if the stored solution fills every box and keeps every given of the stored puzzle. Sixteen boxes at a time, as in matches().
+    {
+        for(int offset = 0; offset < 40; offset += 8)
+        {
+            if(!agrees(slots.getLong(position + offset), slots.getLong(position + SOLUTION_OFFSET + offset), NIBBLES))
+            {
+                return false;
+            }
+        }
+        long givens = (long) (slots.get(position + 40) & 0xF0) << 56; // Box 80 alone.
+        long solution = (long) (slots.get(position + SOLUTION_OFFSET + 40) & 0xF0) << 56;
+        return agrees(givens, solution, 1L << 60);
+    }
+
+    private static boolean agrees(long givens, long solution, long boxes) // boxes has the low bit of each nibble in use set.
+    {
+        return filled(solution) == boxes && ((givens ^ solution) & (filled(givens) * 0xF)) == 0;
+    }
+
+    private static long filled(long word) // The low bit of every nonzero nibble.
+    {
+        return (word | (word >>> 1) | (word >>> 2) | (word >>> 3)) & NIBBLES;
+    }
+
+    private static long word(int[] puzzle, int first) // Boxes first to first + 15 (those below 81) packed as in SudokuPacked, read as a big endian long.
+    {
+        long word = 0;
+        for(int box = first; box < first + 16; box++)
+        {
+            word = (word << 4) | ((box < 81) ? puzzle[box] : 0);
+        }
+        return word;
+    }
+
+    static long hash(int[] puzzle) // Hash of a puzzle, -1 if it does not have 81 boxes or a box holds a value outside 0 - 9.
+    {
+        if(puzzle.length != 81)
+        {
+            return -1;
+        }
+        int bad = 0;
+        for(int box = 0; box < 81; box++)
+        {
+            bad |= puzzle[box] | (9 - puzzle[box]);
+        }
+        if(bad < 0)
+        {
+            return -1;
+        }
+
+        long hash = 0x2545F4914F6CDD1DL;
+        for(int first = 0; first < 81; first += 16)
+        {
+            hash = Long.rotateLeft((hash ^ word(puzzle, first)) * 0x9E3779B97F4A7C15L, 29);
+        }
+        return (hash ^ (hash >>> 32)) & Long.MAX_VALUE;
+    }
+
+    private static boolean matches(ByteBuffer slots, int position, int[] puzzle) // True if the packed puzzle at position is this puzzle. Boxes 0 - 79 are five longs; box 80 is the high half of byte 40.
+    {
+        for(int first = 0; first < 80; first += 16)
+        {
+            if(slots.getLong(position + first / 2) != word(puzzle, first))
+            {
+                return false;
+            }
+        }
+        return slots.get(position + 40) == (byte) (puzzle[80] << 4);
+    }
+
+    private static boolean insert(ByteBuffer[] segments, int slotMask, int[] puzzle, int[] solution) // Adds a puzzle while building. solution is null for a puzzle without one. Returns false if it was already there.
+    {
+        for(int slot = (int) hash(puzzle) & slotMask; ; slot = (slot + 1) & slotMask)
+        {
+            ByteBuffer segment = segments[slot >>> SEGMENT_BITS];
+            int position = (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+            if(segment.get(position + STATE_OFFSET) == EMPTY)
+            {
+                SudokuPacked.packPuzzle(puzzle, segment, position);
+                if(solution != null)
+                {
+                    SudokuPacked.packPuzzle(solution, segment, position + SOLUTION_OFFSET);
+                }
+                segment.put(position + STATE_OFFSET, (solution != null) ? SOLVED_SLOT : UNSOLVABLE_SLOT);
+                return true;
+            }
+            if(matches(segment, position, puzzle))
+            {
+                return false;
+            }
+        }
+    }
+
+    public static long write(Path store, SudokuSolutionStore existing, Path[] inputs) throws IOException // Writes a store holding everything in existing (may be null) plus every valid puzzle of the inputs. Returns the number of entries.
+    {
+        long capacity = (existing == null) ? 0 : existing.entries;
+        for(Path input : inputs)
+        {
+            try(BufferedReader in = Files.newBufferedReader(input, StandardCharsets.US_ASCII))
+            {
+                while(in.readLine() != null)
+                {
+                    capacity++; // Lines that are not puzzles only make the table a little roomier.
+                }
+            }
+        }
+        int slots = 1024;
+        while(slots < 2 * capacity)
+        {
+            if(slots == MAX_SLOTS)
+            {
+                throw new IOException("Too many puzzles for one store: " + capacity);
+            }
+            slots *= 2;
+        }
+
+        Path temporary = store.resolveSibling(store.getFileName() + ".tmp");
+        long entries = 0;
+        try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer[] segments = new ByteBuffer[(slots + SEGMENT_SLOTS - 1) >>> SEGMENT_BITS];
+            for(int s = 0; s < segments.length; s++)
+            {
+                long first = (long) s << SEGMENT_BITS;
+                segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + first * SLOT_BYTES, Math.min(SEGMENT_SLOTS, slots - first) * (long) SLOT_BYTES);
+            }
+
+            int[] puzzle = new int[81];
+            int[] solution = new int[81];
+            if(existing != null)
+            {
+                for(int slot = 0; slot <= existing.slotMask; slot++)
+                {
+                    ByteBuffer segment = existing.segments[slot >>> SEGMENT_BITS];
+                    int position = (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+                    byte state = segment.get(position + STATE_OFFSET);
+                    if(state != EMPTY)
+                    {
+                        SudokuPacked.unpackPuzzle(segment, position, puzzle);
+                        SudokuPacked.unpackPuzzle(segment, position + SOLUTION_OFFSET, solution);
+                        entries += insert(segments, slots - 1, puzzle, (state == SOLVED_SLOT) ? solution : null) ? 1 : 0;
+                    }
+                }
+            }
+
+            SudokuSolver solver = new SudokuSolver();
+            ByteBuffer line = ByteBuffer.allocate(81);
+            for(Path input : inputs)
+            {
+                try(BufferedReader in = Files.newBufferedReader(input, StandardCharsets.US_ASCII))
+                {
+                    String text;
+                    while((text = in.readLine()) != null)
+                    {
+                        text = text.trim();
+                        if(text.length() != 81)
+                        {
+                            continue;
+                        }
+                        for(int i = 0; i < 81; i++)
+                        {
+                            line.put(i, (byte) text.charAt(i));
+                        }
+                        if(!SudokuBatch.parse(line, 0, 81, puzzle))
+                        {
+                            continue;
+                        }
+                        int status = solver.solve(puzzle, solution);
+                        if(status != SudokuEngine.INVALID) // Invalid puzzles are rejected faster than they could be looked up.
+                        {
+                            entries += insert(segments, slots - 1, puzzle, (status == SudokuEngine.SOLVED) ? solution : null) ? 1 : 0;
+                        }
+                    }
+                }
+            }
+
+            for(ByteBuffer segment : segments)
+            {
+                ((MappedByteBuffer) segment).force();
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putLong(0, MAGIC).putInt(8, VERSION).putInt(12, slots).putInt(16, (int) entries);
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temporary, store, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return entries;
+    }
+
+    public static void main(String args[]) throws Exception
+    {
+        if(args.length < 2 || (!args[0].equals("info") && args.length < 3))
+        {
+            System.out.println("Usage: java SudokuSolutionStore build|append store.bin puzzles.txt [more.txt ...]");
+            System.out.println("       java SudokuSolutionStore info store.bin");
+            return;
+        }
+
+        Path store = Paths.get(args[1]);
+        if(args[0].equals("info"))
+        {
+            SudokuSolutionStore opened = open(store);
+            System.out.println(opened.getEntryCount() + " puzzles in " + opened.getSlotCount() + " slots.");
+            return;
+        }
+
+        Path[] inputs = new Path[args.length - 2];
+        for(int i = 2; i < args.length; i++)
+        {
+            inputs[i - 2] = Paths.get(args[i]);
+        }
+        SudokuSolutionStore existing = (args[0].equals("append") && Files.exists(store)) ? open(store) : null;
+        long startTime = System.nanoTime();
+        long entries = write(store, existing, inputs);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.println("Wrote " + entries + " puzzles (" + (entries - ((existing == null) ? 0 : existing.getEntryCount())) + " new) to " + store
+            + " in " + String.format("%.3f", seconds) + " s.");
+    }
+}
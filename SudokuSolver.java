@@ -8,499 +8,752 @@
  * 
  * Once puzzle is input, the result should be directly output within a couple of seconds. 
  * 
- * If an invalid puzzle is input, the error will propagate through to the output. 
+ * If an invalid puzzle is input (a value outside 0 - 9, or a number repeated in a row, column, or square), it is rejected while the givens are loaded. 
+ * A puzzle without a solution is rejected as soon as propagation leaves a box without possibilities or a number without a place in some unit. 
+ * Either way, getReason() and describeReason() tell what was found. 
+ * 
+ * If a SudokuSolutionStore has been set (setSolutionStore(), or -Dsudoku.store=path), every solve entry point looks the puzzle up there first. countSolutions() 
+ * takes only a stored NO_SOLUTION, or a stored solution when the limit is 1, since the store does not know whether a solution is unique. 
  *
  * @author Tanish Kumar
  * @version 12/20/2021
  */
 
 import java.io.*;
+import java.nio.*;
 import java.util.*;
+import java.util.concurrent.atomic.*;
 
-public class SudokuSolver
+public class SudokuSolver implements SudokuEngine
 {
+    public static final int SINGLES = 0; // Values returned by hardestTechnique(): naked and hidden singles were enough, 
+    public static final int POINTING_PAIRS = 1; // pointing pairs were needed as well, 
+    public static final int SEARCH = 2; // or the puzzle could only be finished by guessing. 
+    
     private int[] currentPuzzle; // Holds the uncompleted input puzzle in a one dimensional format. 
-    private int[][] currentPuzzle2D; // Holds the uncompleted input puzzle in a two dimensional (9 x 9) format. 
-    private int [][][] possibilities; // Holds the possibilities for each individual box that are determined by the box's row, column, and square (9 x 9 x 9 matrix). 
-                                      // A potential possiblities matrix for a certain box is {1, 0, 0, 1, 0, 0, 0, 1, 0} where a 1 represents that the number (index + 1) exists as a possibility. 
-                                      // This matrix would represent that {1, 4, 8} all exist as possibilities for the given box. 
+    private SudokuCandidates possibilities; // Holds the board and the possibilities for each individual box that are determined by the box's row, column, and square. 
+                                            // Each box's possibilities are a 9-bit set where bit (number - 1) is set if that number exists as a possibility. 
+                                            // The bitset 0b010001001 would represent that {1, 4, 8} all exist as possibilities for the given box. 
+                                            // Boxes are numbered row * 9 + column and every row, column, and square lookup goes through SudokuTables. 
     private int runCount = 0; //Counts the number of times the solve() function is run. This is used to monitor the number of times the function is run and to limit recursion. 
+    private boolean validGivens; // False if two given numbers conflict in a row, column, or square. 
+    private int status = NO_SOLUTION; // Result of the last solve, one of the SudokuEngine status codes. 
+    private int reason; // Why the last solve was INVALID or had NO_SOLUTION, one of the SudokuResult reasons. 
+    private int solutionLimit; // countSolutions() stops once this many solutions have been found. 
+    private int solutionCount; // Solutions found so far by countSolutions(). 
+    private int[] firstSolution; // Receives the first solution found by countSolutions(), may be null. 
+    private final SolutionSink counter = this::countSolution; // Created once so that counting allocates nothing. 
+    private boolean usePointingPairs = true; // Turned off by hardestTechnique() to see whether singles alone solve a puzzle. 
+    private long nodeCount; // Guesses made by the search since the last load(). 
+    private SudokuStrategy[] strategies = SudokuStrategies.pipeline(); // Extra techniques tried, in order, once the built in ones are stuck. See setStrategies(). 
+    private boolean strategiesInSearch = false; // Whether search mode tries the strategies too, or only the legacy solve(). 
+    private SudokuBudget budget; // Limits of the current budgeted solve, null when there are none. 
+    private boolean aborted; // Set once the budget has run out, so the search unwinds. 
+    private final long[] stats = new long[SudokuStats.COUNTERS]; // Counters of the current solve, indexed as in SudokuStats. Added to SudokuStats.GLOBAL at the end of each solve. 
+    private static volatile SudokuSolutionStore solutionStore = SudokuSolutionStore.fromProperty(); // Precomputed solutions shared by every solver, null for none. 
+    private final int[] stored = new int[81]; // Receives stored solutions for the entry points that are not given a solution array, and packed puzzles to look up. 
     
-    public SudokuSolver(int[] puzzle) // Constructor that takes input puzzle and converts it to a more usable 2D format. 
+    public SudokuSolver(int[] puzzle) // Convenience constructor that solves the input puzzle straight away. Nothing is printed; use printBoard() to render the result. 
     {
-        currentPuzzle = puzzle;
-        possibilities = new int[9][9][9]; 
-        this.Conversion();
-        System.out.println("Input Sudoku Puzzle: "); 
-        this.printBoard(); 
-        
-        this.solve(); 
+        this(); 
+        if(!fromStore(puzzle, new int[81], 1))
+        {
+            load(puzzle); 
+            setStatus(this.solveWithSearch()); 
+        }
     }
     
+    SudokuSolver(SudokuCandidates state) // Creates a solver that works directly on an existing candidate engine. Used by SudokuParallelSearch, where every task owns its own copy of the state. 
+    {
+        possibilities = state; 
+        validGivens = true; 
+    }
     
-    public void Conversion() // Performs actual conversion of 1D puzzle format to 2D puzzle format. 
+    interface SolutionSink // Receives each solution found by searchAll(). 
     {
-        int length = (int) Math.sqrt(currentPuzzle.length);
-        currentPuzzle2D = new int[length][length]; 
-        for(int i = 0; i < length; i++)
+        boolean accept(SudokuCandidates solved); // Called with the engine holding a completed board. Returns false to stop the search. 
+    }
+    
+    public SudokuSolver() // Creates a reusable solver. Puzzles are passed to solve(puzzle, solution); the same instance can solve any number of puzzles, one at a time. 
+    {
+        possibilities = new SudokuCandidates(); 
+    }
+    
+    public void reset() // Clears the board and the candidate engine so the solver can be handed out for the next puzzle. 
+    {
+        possibilities.reset(); 
+        currentPuzzle = null; 
+        runCount = 0; 
+        status = NO_SOLUTION; 
+    }
+    
+    public void load(int[] puzzle) // Puts a new puzzle on the board and fills its possibilities, without solving anything. 
+    {
+        clearCounters(); 
+        currentPuzzle = puzzle; 
+        this.fillPossibilities(); 
+    }
+    
+    private void clearCounters() // Starts the run, node, and SudokuStats counts of a new puzzle. 
+    {
+        runCount = 0; 
+        nodeCount = 0; 
+        if(SudokuStats.ENABLED)
         {
-            for(int j = 0; j < length; j++)
-            {
-                currentPuzzle2D[i][j] = currentPuzzle[i * length + j]; 
-            }
+            Arrays.fill(stats, 0); 
         }
-        
     }
     
-    public void fillPossibilities() // Fills the possibilities 3D matrix by eliminating the possible numbers a box can contain based on its row, column, and square. 
+    public int solve(int[] puzzle, int[] solution) // Solves the puzzle in search mode and copies the board into solution. Returns SOLVED, NO_SOLUTION, or INVALID. Allocates nothing and prints nothing. 
     {
-        for (int i = 0; i < 9; i++)
+        long start = SudokuStats.ENABLED ? System.nanoTime() : 0; 
+        if(!fromStore(puzzle, solution, 1))
+        {
+            load(puzzle); 
+            setStatus(this.solveWithSearch()); 
+        }
+        getBoard(solution); 
+        if(SudokuStats.ENABLED)
         {
-            for(int j = 0; j < 9; j++)
+            recordStats(start); 
+        }
+        return status; 
+    }
+    
+    public static void setSolutionStore(SudokuSolutionStore store) // Sets the store every solver checks before solving, or null for none. 
+    {
+        solutionStore = store; 
+    }
+    
+    public static SudokuSolutionStore getSolutionStore() // The store set by setSolutionStore() or -Dsudoku.store, null for none. 
+    {
+        return solutionStore; 
+    }
+    
+    private boolean fromStore(int[] puzzle, int[] solution, int limit) // Answers from the solution store if it holds the puzzle, putting the solution on the board so getBoard() and printBoard() agree. Returns false if it does not. 
+    {
+        // A stored solution only answers a caller that wants one solution (limit 1); the store does not know whether it is the only one. 
+        SudokuSolutionStore store = solutionStore; 
+        if(store == null)
+        {
+            return false; 
+        }
+        int found = store.lookup(puzzle, solution); 
+        if(found == SudokuSolutionStore.MISSING || (found == SOLVED && limit > 1))
+        {
+            return false; 
+        }
+        
+        clearCounters(); 
+        currentPuzzle = puzzle; 
+        if(found == SOLVED)
+        {
+            if(!possibilities.load(solution))
             {
-                for(int k = 1; k < 10; k++)
-                {
-                    if (currentPuzzle2D[i][j] == 0)
-                    {
-                        if(!(checkRow(i, k)) && !(checkColumn(j, k)) && !(checkSquare(i, j, k)))
-                        {
-                            possibilities[i][j][(k - 1)] = 1;  
-                        }
-                    }
-                }
+                return false; // lookup() checks the givens; a stored grid that repeats a number in a unit is caught here and the puzzle solved instead. 
             }
+            validGivens = true; 
+            setStatus(true); 
+        }
+        else
+        {
+            fillPossibilities(); // The store only holds valid puzzles, so this one is valid but unsolvable. 
+            setStatus(false); 
         }
+        return true; 
     }
     
-    public void solveUsingPossibilities() //If only one possibilities exists for a box, it will put that number for the box. 
+    public int solve(int[] puzzle, SudokuBudget budget, SudokuResult result) // Solves the puzzle within a budget. Returns SOLVED, NO_SOLUTION, INVALID, BUDGET_EXCEEDED, or CANCELLED, and fills result (board, candidates, guesses, time). 
     {
-        fillPossibilities(); 
-        
-        pointingPairs(); 
-        
-        for (int i = 0; i < 9; i++)
+        long start = System.nanoTime(); 
+        if(!fromStore(puzzle, stored, 1))
         {
-            for(int j = 0; j < 9; j++)
+            load(puzzle); 
+            this.budget = budget; 
+            aborted = false; 
+            boolean solved = this.solveWithSearch(); 
+            this.budget = null; 
+            setStatus(solved); 
+            if(aborted)
             {
-                if(sumPossibilities(i, j) == 1)
-                { 
-                    for(int z = 0; z < 9; z++)
-                    {
-                        if(possibilities[i][j][z] == 1)
-                        {
-                            currentPuzzle2D[i][j] = z + 1; 
-                            possibilities[i][j] = new int[9]; 
-                        }
-                    }
-                }
+                status = budget.isCancelled() ? CANCELLED : BUDGET_EXCEEDED; 
+                reason = SudokuResult.NO_REASON; 
             }
         }
+        
+        long nanos = System.nanoTime() - start; 
+        result.set(status, reason, possibilities, nodeCount, nanos); 
+        if(SudokuStats.ENABLED)
+        {
+            recordStats(start); 
+        }
+        return status; 
     }
     
+    public int solvePacked(ByteBuffer source, int position, int[] solution) // Same as solve(), for a puzzle packed at position as in SudokuPacked. The puzzle is decoded straight into the candidate engine. 
+    {
+        long start = SudokuStats.ENABLED ? System.nanoTime() : 0; 
+        if(solutionStore != null && position >= 0 && source.limit() - position >= SudokuPacked.PUZZLE_BYTES && SudokuPacked.unpackPuzzle(source, position, stored) && fromStore(stored, solution, 1))
+        {
+            currentPuzzle = null; // stored is reused, so it cannot stand for the puzzle. 
+        }
+        else
+        {
+            clearCounters(); 
+            currentPuzzle = null; 
+            validGivens = possibilities.loadPacked(source, position); 
+            setStatus(this.solveWithSearch()); 
+        }
+        getBoard(solution); 
+        if(SudokuStats.ENABLED)
+        {
+            recordStats(start); 
+        }
+        return status; 
+    }
     
+    public int countSolutions(int[] puzzle, int limit) // Counts the solutions of a puzzle, stopping as soon as limit have been found. A limit of 2 checks that the solution is unique. 
+    {
+        return countSolutions(puzzle, limit, null); 
+    }
     
-    public void solve() // Runs all the techniques this class has for eliminating possiblities and solving for values. This is recursive but has a limit of 50 runs to avoid infinite loops and overloads. 
+    public int countSolutions(int[] puzzle, int limit, int[] solution) // Same as countSolutions(puzzle, limit), with solution (may be null) receiving the first solution found. 
     {
-        runSquares();
-        runRows(); 
-        runColumns(); 
-        solveUsingPossibilities(); 
-        
-        for(int i = 0; i < 9; i++)
+        // Every branch is explored on the same candidate engine and rolled back through the undo trail, so no board is copied. 
+        if(limit < 1)
+        {
+            throw new IllegalArgumentException("Solution limit must be at least 1, was " + limit); 
+        }
+        long start = SudokuStats.ENABLED ? System.nanoTime() : 0; 
+        if(fromStore(puzzle, (solution != null) ? solution : stored, limit))
+        {
+            solutionCount = (status == SOLVED) ? 1 : 0; 
+        }
+        else
         {
-            for(int j = 0; j < 9; j++)
+            load(puzzle); 
+            solutionLimit = limit; 
+            solutionCount = 0; 
+            firstSolution = solution; 
+            if(validGivens && !possibilities.hasContradiction())
             {
-                if(currentPuzzle2D[i][j] == 0 && (runCount < 50))
-                {
-                    runCount++; 
-                    solve(); 
-                }
+                searchAll(counter, null); 
             }
+            setStatus(solutionCount > 0); 
+            firstSolution = null; 
         }
+        if(SudokuStats.ENABLED)
+        {
+            recordStats(start); 
+        }
+        return solutionCount; 
     }
     
-    public void pointingPairs() // This is a technique to eliminate possibilities in the possibilities 3D matrix. More about this: http://www.sudokubeginner.com/pointing-pair/
+    private void setStatus(boolean solved) // Sets the status and reason of the solve that just ended. A failure with no contradiction left on the board means every guess failed. 
     {
-        for(int i = 0; i < 9; i += 3)
+        status = solved ? SOLVED : (validGivens ? NO_SOLUTION : INVALID); 
+        reason = solved ? SudokuResult.NO_REASON : possibilities.getReason(); 
+        if(status == NO_SOLUTION && reason == SudokuResult.NO_REASON)
         {
-            for(int j = 0; j < 9; j += 3)
-            {
-                for(int s = 1; s < 10; s++)
-                {
-                    int[] rowCoordinates = new int[9];
-                    int [] columnCoordinates = new int[9]; 
-                    
-                    int rowNum = -1; 
-                    int columnNum = -1; 
-                    
-                    for(int a = i; a < (i + 3); a++)
-                    {
-                        for(int b = j; b < (j + 3); b++)
-                        {
-                            if(possibilities[a][b][(s - 1)] == 1)
-                            {
-                                rowCoordinates[a] = 1; 
-                                rowNum = a; 
-                                columnCoordinates[b] = 1; 
-                                columnNum = b; 
-                            }
-                        }
-                    }
-                    
-                    int rowSum = 0;
-                    int columnSum = 0; 
-                    
-                    for(int r = 0; r < 9; r++)
-                    {
-                        if(rowCoordinates[r] == 1)
-                        {
-                            rowSum++; 
-                        }
-                        
-                        if(columnCoordinates[r] == 1)
-                        {
-                            columnSum++; 
-                        }
-                    }
-                    
-                    if (rowSum == 1)
-                    {
-                        for(int g = 0; g < 9; g++)
-                        {
-                            if((g < j) || (g > (j + 2)))
-                            {
-                                possibilities[rowNum][g][(s - 1)] = 0; 
-                            }
-                        }
-                    }
-                    
-                    if (columnSum == 1)
-                    {
-                        for(int g = 0; g < 9; g++)
-                        {
-                            if((g < i) || (g > (i + 2)))
-                            {
-                               possibilities[g][columnNum][(s - 1)] = 0; 
-                            }
-                        }
-                    }
-                }
-            }
+            reason = SudokuResult.EXHAUSTED; 
         }
     }
     
-    public void runSquares() // Will determine if there is only one spot a certain number can go within a square and place it there. 
+    public int hardestTechnique(int[] puzzle) // Grades a puzzle by the hardest technique needed to solve it: SINGLES, POINTING_PAIRS, or SEARCH (see getNodeCount()). Returns -1 if it has no solution. 
     {
-        for(int i = 0; i < 9; i += 3)
+        usePointingPairs = false; 
+        load(puzzle); 
+        boolean consistent = validGivens && propagateState(); 
+        usePointingPairs = true; 
+        if(consistent && possibilities.getEmptyCount() == 0)
         {
-            for(int j = 0; j < 9; j += 3)
+            return SINGLES; 
+        }
+        
+        if(consistent)
+        {
+            load(puzzle); 
+            if(propagateState() && possibilities.getEmptyCount() == 0)
             {
-                for(int s = 1; s < 10; s++)
-                {
-                    int numOfPossibilities = 0;
-                    int[][] squarePossibilities = {{-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}}; 
-                    int index = 0; 
-                    for(int a = i; a < (i + 3); a++)
-                    {
-                        for(int b = j; b < (j + 3); b++)
-                        {
-                            if(currentPuzzle2D[a][b] == 0)
-                            {
-                                if(!(checkRow(a, s)) && !(checkColumn(b, s)) && !(checkSquare(a,b, s)))
-                                {
-                                    squarePossibilities[index][0] = a; 
-                                    squarePossibilities[index][1] = b; 
-                                    index++; 
-                                    numOfPossibilities++; 
-                                }
-                            }
-                        }
-                    }
-                    
-                    
-                    if(numOfPossibilities == 1)
-                    {
-                        currentPuzzle2D[squarePossibilities[0][0]][squarePossibilities[0][1]] = s; 
-                    }
-                }
+                return POINTING_PAIRS; 
             }
         }
+        
+        load(puzzle); 
+        return solveWithSearch() ? SEARCH : -1; 
     }
     
-    public void runColumns() // Will determine if there is only one spot a certain number can go within a column and place it there. 
-    {   
-        for(int j = 0; j < 9; j++)
+    public int getReason() // Returns why the last solve was INVALID or had NO_SOLUTION, one of the SudokuResult reasons. NO_REASON after a solve that succeeded. 
+    {
+        return reason; 
+    }
+    
+    public String describeReason() // Returns getReason() in words, with the box, unit, and number involved. Empty after a solve that succeeded. 
+    {
+        if(reason != possibilities.getReason())
+        {
+            return SudokuResult.describe(reason, -1, -1, 0); 
+        }
+        return SudokuResult.describe(reason, possibilities.getReasonBox(), possibilities.getReasonUnit(), possibilities.getReasonNumber()); 
+    }
+    
+    public long getNodeCount() // Returns the number of guesses the search has made since the last puzzle was loaded. 
+    {
+        return nodeCount; 
+    }
+    
+    public long getCounter(int counter) // Returns one of the SudokuStats counters (PASSES to BACKTRACKS) for the puzzle loaded last. Always 0 when SudokuStats is switched off. 
+    {
+        return (counter == SudokuStats.SEARCH_NODES) ? nodeCount : stats[counter]; 
+    }
+    
+    private void recordStats(long start) // Adds the counters of the solve that started at start (System.nanoTime()) to SudokuStats.GLOBAL. 
+    {
+        stats[SudokuStats.SEARCH_NODES] = nodeCount; 
+        SudokuStats.GLOBAL.record(stats, System.nanoTime() - start); 
+    }
+    
+    private boolean countSolution(SudokuCandidates solved) // Counts one solution found by searchAll(). Returns false once the limit is reached. 
+    {
+        if(solutionCount == 0 && firstSolution != null)
+        {
+            getBoard(firstSolution); 
+        }
+        solutionCount++; 
+        return solutionCount < solutionLimit; 
+    }
+    
+    public void setStrategies(SudokuStrategy... strategies) // Sets the techniques to try, cheapest first, when singles and pointing pairs are stuck. The default is SudokuStrategies.pipeline(), all of them. 
+    {
+        this.strategies = strategies.clone(); 
+    }
+    
+    public void setStrategiesInSearch(boolean strategiesInSearch) // Off by default: search mode needs only a handful of guesses per puzzle, and scanning for the strategies at every guess costs more than the guesses they save. 
+    {
+        this.strategiesInSearch = strategiesInSearch; 
+    }
+    
+    private boolean applyStrategy() // Tries the strategies in order and stops at the first that removes something. Returns false if none does. 
+    {
+        for(SudokuStrategy strategy : strategies)
         {
-            for(int s = 1; s < 10; s++)
+            int mark = possibilities.mark(); 
+            if(strategy.apply(possibilities))
             {
-                int numOfPossibilities = 0;
-                int[][] rowPossibilities = {{-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}}; 
-                int index = 0; 
-                
-                for(int i = 0; i < 9; i++)
+                if(SudokuStats.ENABLED)
                 {
-                    if(currentPuzzle2D[i][j] == 0)
-                    {
-                        if(!(checkRow(i, s)) && !(checkColumn(j, s)) && !(checkSquare(i, j, s)))
-                        {
-                            rowPossibilities[index][0] = i; 
-                            rowPossibilities[index][1] = j; 
-                            index++; 
-                            numOfPossibilities++; 
-                        }
-                    } 
-                }
-                
-                if(numOfPossibilities == 1)
-                {
-                    currentPuzzle2D[rowPossibilities[0][0]][rowPossibilities[0][1]] = s; 
+                    stats[SudokuStats.STRATEGY_ELIMINATIONS] += possibilities.mark() - mark; 
                 }
+                return true; 
             }
         }
+        return false; 
     }
     
+    public void fillPossibilities() // Fills the board and the possibilities bitsets by placing every number of the input puzzle. After this the candidate engine is kept up to date as numbers are placed. 
+    {
+        validGivens = possibilities.load(currentPuzzle); 
+    }
     
+    private void place(int box, int num) // Places a number in the candidate engine, as long as it is still a possibility for that box. 
+    {
+        possibilities.place(box, num); 
+    }
     
-    public void runRows() // Will determine if there is only one spot a certain number can go within a row and place it there. 
+    private void eliminate(int box, int num) // Removes a number from the possibilities of a box. 
     {
-        for(int i = 0; i < 9; i++)
+        if(possibilities.eliminate(box, num) && SudokuStats.ENABLED)
         {
-            for(int s = 1; s < 10; s++)
+            stats[SudokuStats.POINTING_ELIMINATIONS]++; 
+        }
+    }
+    
+    public void solveUsingPossibilities() //If only one possibilities exists for a box, it will put that number for the box. 
+    {
+        pointingPairs(); 
+        
+        for(int box = 0; box < 81; box++)
+        {
+            int candidates = possibilities.getCandidates(box); 
+            if(candidates != 0 && (candidates & (candidates - 1)) == 0) // Exactly one bit set. 
             {
-                int numOfPossibilities = 0;
-                int[][] rowPossibilities = {{-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}, {-1, -1}}; 
-                int index = 0;
-                
-                for(int j = 0; j < 9; j++)
-                { 
-                    if(currentPuzzle2D[i][j] == 0)
-                    {
-                        if(!(checkRow(i, s)) && !(checkColumn(j, s)) && !(checkSquare(i, j, s)))
-                        {
-                            rowPossibilities[index][0] = i; 
-                            rowPossibilities[index][1] = j; 
-                            index++; 
-                            numOfPossibilities++; 
-                        }
-                    } 
-                }
-                
-                if(numOfPossibilities == 1)
+                place(box, Integer.numberOfTrailingZeros(candidates) + 1); 
+                if(SudokuStats.ENABLED)
                 {
-                    currentPuzzle2D[rowPossibilities[0][0]][rowPossibilities[0][1]] = s; 
+                    stats[SudokuStats.NAKED_SINGLES]++; 
                 }
             }
         }
     }
     
-    public int sumPossibilities(int row, int column) // Returns the total number of possibilities that exist for a box. 
+    
+    
+    public void solve() // Runs all the techniques this class has for eliminating possiblities and solving for values. This is recursive but has a limit of 50 runs to avoid infinite loops and overloads. 
     {
-        int sum = 0; 
-        
-        for(int i = 0; i < 9; i++)
+        if(!validGivens || possibilities.hasContradiction())
+        {
+            return; // Nothing more can be deduced from a broken board. 
+        }
+        if(SudokuStats.ENABLED)
         {
-            sum += possibilities[row][column][i]; 
+            stats[SudokuStats.PASSES]++; 
         }
+        runSquares();
+        runRows(); 
+        runColumns(); 
+        solveUsingPossibilities(); 
+        applyStrategy(); 
         
-        return sum; 
-    }
-    
-    public boolean checkRow(int row, int num) // Checks a row for a given number. Returns true if that number exists in the row and returns false otherwise. 
-    {
-        for (int i = 0; i < 9; i++)
+        for(int box = 0; box < 81; box++)
         {
-            if(currentPuzzle2D[row][i] == num)
+            if(possibilities.getValue(box) == 0 && (runCount < 50))
             {
-                //currentPuzzle2D[row][i] = 1; 
-                return true; 
+                runCount++; 
+                solve(); 
             }
         }
-        
-        return false; 
     }
     
-    public boolean checkSquare(int row, int column, int num) // Checks a square for a given number. Returns true if that number exists in the square and returns false otherwise. 
+    public boolean solveWithSearch() // Search mode: uses the techniques above as propagation and branches on the box with the fewest possibilities when they stall. Returns true with the board solved, or false if the puzzle is proven to have no solution. 
+    {
+        return validGivens && !possibilities.hasContradiction() && search(); 
+    }
+    
+    private boolean propagate() // Runs the techniques until none of them makes progress. Returns false if a box is left without any possibilities. 
     {
-        if(row % 3 == 0) 
+        // Only the work queued by the candidate engine is done: queued naked singles, then hidden singles and pointing pairs in the units that changed. 
+        // Once that is all done, the strategies (if enabled) are tried one at a time. 
+        while(true)
         {
-            if(column % 3 == 0) 
+            if(SudokuStats.ENABLED)
             {
-                for (int i = row; i < (row + 3); i++)
+                stats[SudokuStats.PASSES]++; 
+            }
+            
+            int box; 
+            while((box = possibilities.pollSingle()) >= 0)
+            {
+                int candidates = possibilities.getCandidates(box); 
+                if(candidates != 0) // Zero if the box was filled after being queued. 
                 {
-                    for(int j = column; j < (column + 3); j++)
+                    place(box, Integer.numberOfTrailingZeros(candidates) + 1); 
+                    if(SudokuStats.ENABLED)
                     {
-                        if(currentPuzzle2D[i][j] == num)
-                        {
-                            //currentPuzzle2D[row][column] = 1; 
-                            return true; 
-                        }
+                        stats[SudokuStats.NAKED_SINGLES]++; 
                     }
                 }
             }
             
-            if(column % 3 == 1) 
+            if(possibilities.hasContradiction())
+            {
+                return false; 
+            }
+            
+            int dirty = possibilities.takeDirtyUnits(); 
+            if(dirty == 0)
             {
-                for (int i = row; i < (row + 3); i++)
+                if(!strategiesInSearch || !applyStrategy())
                 {
-                    for(int j = (column - 1); j < (column + 2); j++)
-                    {
-                        if(currentPuzzle2D[i][j] == num)
-                        {
-                            return true; 
-                        }
-                    }
+                    return true; 
                 }
+                continue; // A strategy removed something, so the cheap techniques get another go first. 
             }
             
-            if(column % 3 == 2) 
+            while(dirty != 0)
             {
-                for (int i = row; i < (row + 3); i++)
+                int unit = Integer.numberOfTrailingZeros(dirty); 
+                dirty &= dirty - 1; 
+                if(!runUnit(unit))
                 {
-                    for(int j = (column - 2); j < (column + 1); j++)
-                    {
-                        if(currentPuzzle2D[i][j] == num)
-                        {
-                            return true; 
-                        }
-                    }
+                    return false; 
                 }
+                if(unit >= SudokuTables.SQUARE_UNITS && usePointingPairs)
+                {
+                    pointingPairs(unit - SudokuTables.SQUARE_UNITS); 
+                }
+            }
+            
+            if(possibilities.hasContradiction())
+            {
+                return false; 
             }
         }
+    }
+    
+    private boolean search() // Depth first search. Every guess is rolled back through the candidate engine's undo trail, so the board is never copied. 
+    {
+        if(!propagate())
+        {
+            return false; 
+        }
         
-        if(row % 3 == 1) 
+        if(possibilities.getEmptyCount() == 0)
         {
-            if(column % 3 == 0) 
+            return true; 
+        }
+        
+        int best = chooseBox(); 
+        int mark = possibilities.mark(); 
+        int candidates = possibilities.getCandidates(best); 
+        while(candidates != 0)
+        {
+            if(budget != null && budget.isExhausted(nodeCount))
             {
-                for (int i = (row - 1); i < (row + 2); i++)
-                {
-                    for(int j = column; j < (column + 3); j++)
-                    {
-                        if(currentPuzzle2D[i][j] == num)
-                        {
-                            return true; 
-                        }
-                    }
-                }
+                aborted = true; // Every level undoes its guess on the way out, leaving the board as propagation left it before the first guess. 
+                return false; 
             }
             
-            if(column % 3 == 1) 
+            int num = Integer.numberOfTrailingZeros(candidates) + 1; 
+            candidates &= candidates - 1; 
+            
+            possibilities.place(best, num); 
+            nodeCount++; 
+            if(search())
             {
-                for (int i = (row - 1); i < (row + 2); i++)
-                {
-                    for(int j = (column - 1); j < (column + 2); j++)
-                    {
-                        if(currentPuzzle2D[i][j] == num)
-                        {
-                            return true; 
-                        }
-                    }
-                }
+                return true; 
+            }
+            possibilities.undo(mark); 
+            if(SudokuStats.ENABLED)
+            {
+                stats[SudokuStats.BACKTRACKS]++; 
+            }
+            if(aborted)
+            {
+                return false; 
             }
+        }
+        
+        return false; 
+    }
+    
+    boolean searchAll(SolutionSink sink, AtomicBoolean stop) // Visits every solution below the current state, handing each to sink. The state is rolled back after every guess. Returns false once sink or stop asks for the search to end. 
+    {
+        if(stop != null && stop.get())
+        {
+            return false; 
+        }
+        
+        if(!propagate())
+        {
+            return true; // Dead end; the caller keeps searching. 
+        }
+        
+        if(possibilities.getEmptyCount() == 0)
+        {
+            return sink.accept(possibilities); 
+        }
+        
+        int best = chooseBox(); 
+        int mark = possibilities.mark(); 
+        int candidates = possibilities.getCandidates(best); 
+        while(candidates != 0)
+        {
+            int num = Integer.numberOfTrailingZeros(candidates) + 1; 
+            candidates &= candidates - 1; 
             
-            if(column % 3 == 2) 
+            possibilities.place(best, num); 
+            nodeCount++; 
+            boolean keepGoing = searchAll(sink, stop); 
+            possibilities.undo(mark); 
+            if(SudokuStats.ENABLED)
             {
-                for (int i = (row - 1); i < (row + 2); i++)
-                {
-                    for(int j = (column - 2); j < (column + 1); j++)
-                    {
-                        if(currentPuzzle2D[i][j] == num)
-                        {
-                            return true; 
-                        }
-                    }
-                }
+                stats[SudokuStats.BACKTRACKS]++; 
+            }
+            if(!keepGoing)
+            {
+                return false; 
             }
         }
         
-        if(row % 3 == 2) 
+        return true; 
+    }
+    
+    boolean propagateState() // Runs the techniques as propagation on the current state. Returns false if a box is left without any possibilities. 
+    {
+        return !possibilities.hasContradiction() && propagate(); 
+    }
+    
+    int chooseBox() // Returns the empty box with the fewest possibilities. 
+    {
+        int best = -1; 
+        int bestCount = 10; 
+        for(int box = 0; box < 81; box++)
         {
-            if(column % 3 == 0) 
+            int count = possibilities.countCandidates(box); 
+            if(count != 0 && count < bestCount) // Filled boxes have no possibilities. 
             {
-                for (int i = (row - 2); i < (row + 1); i++)
+                best = box; 
+                bestCount = count; 
+                if(count <= 2) // Propagation has already placed every single, so two is the fewest left. 
                 {
-                    for(int j = column; j < (column + 3); j++)
-                    {
-                        if(currentPuzzle2D[i][j] == num)
-                        {
-                            return true; 
-                        }
-                    }
+                    break; 
                 }
             }
+        }
+        
+        return best; 
+    }
+    
+    public boolean isSolved() // Returns true if the board has been completely filled. 
+    {
+        return status == SOLVED; 
+    }
+    
+    public int getStatus() // Returns the SudokuEngine status code of the last solve. 
+    {
+        return status; 
+    }
+    
+    public void getBoard(int[] board) // Copies the current state of the board into an 81 number array. 
+    {
+        for(int box = 0; box < 81; box++)
+        {
+            board[box] = possibilities.getValue(box); 
+        }
+    }
+    
+    public void pointingPairs() // This is a technique to eliminate possibilities from the possibilities bitsets. More about this: http://www.sudokubeginner.com/pointing-pair/
+    {
+        for(int square = 0; square < 9; square++)
+        {
+            pointingPairs(square); 
+        }
+    }
+    
+    private void pointingPairs(int square) // Pointing pairs for a single square. 
+    {
+        int unit = (SudokuTables.SQUARE_UNITS + square) * 9; 
+        for(int s = 1; s < 10; s++)
+        {
+            int bit = 1 << (s - 1); 
+            int rowCoordinates = 0; // Bit r is set if s is a possibility somewhere in row r of this square. 
+            int columnCoordinates = 0; 
             
-            if(column % 3 == 1) 
+            for(int k = unit; k < unit + 9; k++)
             {
-                for (int i = (row - 2); i < (row + 1); i++)
+                int box = SudokuTables.UNIT_BOXES[k]; 
+                if((possibilities.getCandidates(box) & bit) != 0)
                 {
-                    for(int j = (column - 1); j < (column + 2); j++)
-                    {
-                        if(currentPuzzle2D[i][j] == num)
-                        {
-                            return true; 
-                        }
-                    }
+                    rowCoordinates |= 1 << SudokuTables.ROW[box]; 
+                    columnCoordinates |= 1 << SudokuTables.COLUMN[box]; 
                 }
             }
             
-            if(column % 3 == 2) 
+            if(rowCoordinates != 0 && (rowCoordinates & (rowCoordinates - 1)) == 0)
             {
-                for (int i = (row - 2); i < (row + 1); i++)
-                {
-                    for(int j = (column - 2); j < (column + 1); j++)
-                    {
-                        if(currentPuzzle2D[i][j] == num)
-                        {
-                            return true; 
-                        }
-                    }
-                }
+                eliminateOutsideSquare(SudokuTables.ROW_UNITS + Integer.numberOfTrailingZeros(rowCoordinates), square, s); 
+            }
+            
+            if(columnCoordinates != 0 && (columnCoordinates & (columnCoordinates - 1)) == 0)
+            {
+                eliminateOutsideSquare(SudokuTables.COLUMN_UNITS + Integer.numberOfTrailingZeros(columnCoordinates), square, s); 
             }
         }
-        
-        return false; 
     }
     
-    public boolean checkColumn(int column, int num) // Checks a column for a given number. Returns true if that number exists in the column and returns false otherwise. 
+    private void eliminateOutsideSquare(int unit, int square, int num) // Removes num from the boxes of a row or column unit that lie outside the given square. 
     {
-        for (int i = 0; i < 9; i++)
+        for(int k = unit * 9; k < unit * 9 + 9; k++)
         {
-            if(currentPuzzle2D[i][column] == num)
+            int box = SudokuTables.UNIT_BOXES[k]; 
+            if(SudokuTables.SQUARE[box] != square)
             {
-                return true; 
+                eliminate(box, num); 
             }
         }
-        
-        return false; 
     }
     
-    public void printBoard() // Prints the current state of the board. 
+    public void runSquares() // Will determine if there is only one spot a certain number can go within a square and place it there. 
+    {
+        runUnits(SudokuTables.SQUARE_UNITS); 
+    }
+    
+    public void runColumns() // Will determine if there is only one spot a certain number can go within a column and place it there. 
+    {   
+        runUnits(SudokuTables.COLUMN_UNITS); 
+    }
+    
+    public void runRows() // Will determine if there is only one spot a certain number can go within a row and place it there. 
+    {
+        runUnits(SudokuTables.ROW_UNITS); 
+    }
+    
+    private void runUnits(int firstUnit) // Places every number that has only one spot left in one of the nine units starting at firstUnit. 
     {
-        for(int i = 0; i < 9; i++) 
+        for(int unit = firstUnit; unit < firstUnit + 9; unit++)
         {
-            if((i == 3) || (i == 6))
-            { 
-                System.out.println("-#######################################################################-"); 
-            }
-            else
+            if(!runUnit(unit))
             {
-                System.out.println("-------------------------------------------------------------------------"); 
+                return; 
             }
-            System.out.println("|                       #                       #                       |"); 
-            for(int j = 0; j < 9; j++) 
+        }
+    }
+    
+    private boolean runUnit(int unit) // Places every number that has only one spot left in the unit. Returns false, marking a contradiction, if some number still to place has no spot at all. 
+    {
+        int once = 0; // Numbers that are a possibility in at least one box of the unit. 
+        int twice = 0; // Numbers that are a possibility in at least two. 
+        for(int k = unit * 9; k < unit * 9 + 9; k++)
+        {
+            int candidates = possibilities.getCandidates(SudokuTables.UNIT_BOXES[k]); 
+            twice |= once & candidates; 
+            once |= candidates; 
+        }
+        
+        int missing = ~(once | possibilities.getUnitMask(unit)) & SudokuCandidates.ALL; 
+        if(missing != 0)
+        {
+            possibilities.noPlace(unit, Integer.numberOfTrailingZeros(missing) + 1); 
+            return false; 
+        }
+        
+        int single = once & ~twice; 
+        while(single != 0)
+        {
+            int bit = single & -single; 
+            single &= single - 1; 
+            for(int k = unit * 9; k < unit * 9 + 9; k++)
             {
-                if((j == 3) || (j == 6))
+                int box = SudokuTables.UNIT_BOXES[k]; 
+                if((possibilities.getCandidates(box) & bit) != 0)
                 {
-                    System.out.print("#   " + currentPuzzle2D[i][j] + "   ");  
-                }
-                else
-                {
-                    System.out.print("|   " + currentPuzzle2D[i][j] + "   ");  
+                    place(box, Integer.numberOfTrailingZeros(bit) + 1); 
+                    if(SudokuStats.ENABLED)
+                    {
+                        stats[SudokuStats.HIDDEN_SINGLES_ROWS + unit / 9]++; // Rows, columns, then squares, as in SudokuTables. 
+                    }
+                    break; 
                 }
             }
-            System.out.print("|" + "\n" + "|                       #                       #                       |" + "\n"); 
         }
-        System.out.println("-------------------------------------------------------------------------");
-        
+        return true; 
+    }
+    
+    public int sumPossibilities(int row, int column) // Returns the total number of possibilities that exist for a box. 
+    {
+        return possibilities.countCandidates(row * 9 + column); 
+    }
+    
+    public boolean checkRow(int row, int num) // Checks a row for a given number. Returns true if that number exists in the row and returns false otherwise. 
+    {
+        return possibilities.rowHas(row, num); 
+    }
+    
+    public boolean checkSquare(int row, int column, int num) // Checks a square for a given number. Returns true if that number exists in the square and returns false otherwise. 
+    {
+        return possibilities.squareHas(row * 9 + column, num); 
+    }
+    
+    public boolean checkColumn(int column, int num) // Checks a column for a given number. Returns true if that number exists in the column and returns false otherwise. 
+    {
+        return possibilities.columnHas(column, num); 
+    }
+    
+    public void printBoard() // Prints the current state of the board. 
+    {
+        int[] board = new int[81]; 
+        getBoard(board); 
+        System.out.print(SudokuRenderer.render(board)); 
     }
     
     
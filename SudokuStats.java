@@ -0,0 +1,207 @@
+/**
+ * Counters and solve latencies for SudokuSolver, aggregated over every solve in the process.
+ *
+ * A solver counts into plain longs of its own while it works (see SudokuSolver.getCounter()) and adds them here once per solve,
+ * so the hot loops never touch shared memory. The shared counters are LongAdders and the latency histogram is an array of LongAdders,
+ * one bucket per power of two of nanoseconds, so any number of threads can record at once without contention.
+ *
+ * Values are read through snapshot(), or over JMX once register() has been called (ObjectName "SudokuSolver:type=Stats"). SudokuServer registers
+ * GLOBAL at startup, and SudokuBatch and SudokuParallelBatch do with -stats.
+ *
+ * Instrumentation is on by default. Running with -Dsudoku.stats=false makes ENABLED a false constant, and the JIT then drops every
+ * counting branch from the solver.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.lang.management.*;
+import java.util.concurrent.atomic.*;
+import javax.management.*;
+
+public class SudokuStats
+{
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("sudoku.stats", "true"));
+
+    public static final int PASSES = 0; // Rounds of propagation, and runs of the legacy solve().
+    public static final int NAKED_SINGLES = 1; // Numbers placed because a box had a single possibility left.
+    public static final int HIDDEN_SINGLES_ROWS = 2; // Numbers placed by runRows(): the only spot left in a row.
+    public static final int HIDDEN_SINGLES_COLUMNS = 3; // ... by runColumns(). Rows, columns, and squares follow the unit order of SudokuTables.
+    public static final int HIDDEN_SINGLES_SQUARES = 4; // ... by runSquares().
+    public static final int POINTING_ELIMINATIONS = 5; // Possibilities removed by pointingPairs().
+    public static final int SEARCH_NODES = 6; // Guesses made by the search.
+    public static final int BACKTRACKS = 7; // Guesses rolled back.
+    public static final int STRATEGY_ELIMINATIONS = 8; // Possibilities removed by the pluggable strategies (see SudokuStrategy).
+    public static final int COUNTERS = 9;
+
+    public static final String[] COUNTER_NAMES = {"passes", "nakedSingles", "hiddenSinglesRows", "hiddenSinglesColumns", "hiddenSinglesSquares", "pointingEliminations", "searchNodes", "backtracks", "strategyEliminations"};
+
+    public static final SudokuStats GLOBAL = new SudokuStats(); // Where every SudokuSolver records.
+
+    private static final int BUCKETS = 64; // Bucket b holds latencies below 2^b nanoseconds (and at least 2^(b - 1)).
+
+    private final LongAdder[] counters = new LongAdder[COUNTERS];
+    private final LongAdder[] latency = new LongAdder[BUCKETS];
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder solveNanos = new LongAdder();
+
+    public SudokuStats()
+    {
+        for(int c = 0; c < COUNTERS; c++)
+        {
+            counters[c] = new LongAdder();
+        }
+        for(int b = 0; b < BUCKETS; b++)
+        {
+            latency[b] = new LongAdder();
+        }
+    }
+
+    public void record(long[] solveCounters, long nanos) // Adds the counters of one solve and its wall time.
+    {
+        for(int c = 0; c < COUNTERS; c++)
+        {
+            if(solveCounters[c] != 0)
+            {
+                counters[c].add(solveCounters[c]);
+            }
+        }
+        solves.increment();
+        solveNanos.add(nanos);
+        latency[64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();
+    }
+
+    public void reset() // Zeroes everything. Solves recorded at the same time may be partly kept.
+    {
+        for(LongAdder counter : counters)
+        {
+            counter.reset();
+        }
+        for(LongAdder bucket : latency)
+        {
+            bucket.reset();
+        }
+        solves.reset();
+        solveNanos.reset();
+    }
+
+    public Snapshot snapshot() // Reads every counter once. Solves recorded at the same time may be partly included.
+    {
+        long[] counts = new long[COUNTERS];
+        for(int c = 0; c < COUNTERS; c++)
+        {
+            counts[c] = counters[c].sum();
+        }
+        long[] buckets = new long[BUCKETS];
+        for(int b = 0; b < BUCKETS; b++)
+        {
+            buckets[b] = latency[b].sum();
+        }
+        return new Snapshot(solves.sum(), solveNanos.sum(), counts, buckets);
+    }
+
+    public static class Snapshot // Values of the counters at one point in time.
+    {
+        private final long solves;
+        private final long solveNanos;
+        private final long[] counts;
+        private final long[] buckets;
+
+        Snapshot(long solves, long solveNanos, long[] counts, long[] buckets)
+        {
+            this.solves = solves;
+            this.solveNanos = solveNanos;
+            this.counts = counts;
+            this.buckets = buckets;
+        }
+
+        public long getSolves()
+        {
+            return solves;
+        }
+
+        public long getTotalNanos() // Wall time spent in every recorded solve.
+        {
+            return solveNanos;
+        }
+
+        public long getCount(int counter) // Returns one of the counters, PASSES to BACKTRACKS.
+        {
+            return counts[counter];
+        }
+
+        public long percentileNanos(double percentile) // Returns an upper bound on the given latency percentile (0 to 100), accurate to a factor of two.
+        {
+            long total = 0;
+            for(long bucket : buckets)
+            {
+                total += bucket;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for(int b = 0; b < BUCKETS; b++)
+            {
+                seen += buckets[b];
+                if(seen >= rank && seen > 0)
+                {
+                    return (b == 63) ? Long.MAX_VALUE : (1L << b);
+                }
+            }
+            return 0;
+        }
+
+        public String toString()
+        {
+            StringBuilder text = new StringBuilder();
+            text.append("solves=").append(solves);
+            if(solves > 0)
+            {
+                text.append(" meanMicros=").append(String.format("%.2f", solveNanos / 1e3 / solves));
+                text.append(" p50Micros<=").append(String.format("%.2f", percentileNanos(50) / 1e3));
+                text.append(" p99Micros<=").append(String.format("%.2f", percentileNanos(99) / 1e3));
+            }
+            for(int c = 0; c < COUNTERS; c++)
+            {
+                text.append(' ').append(COUNTER_NAMES[c]).append('=').append(counts[c]);
+            }
+            return text.toString();
+        }
+    }
+
+    public interface View // JMX attributes, read from a fresh snapshot each time.
+    {
+        long getSolves();
+        double getMeanMicros();
+        double getP50Micros();
+        double getP99Micros();
+        long getPasses();
+        long getNakedSingles();
+        long getHiddenSingles();
+        long getPointingEliminations();
+        long getSearchNodes();
+        long getBacktracks();
+        long getStrategyEliminations();
+        void reset();
+    }
+
+    public void register() throws JMException // Publishes these counters on the platform MBean server. Call it once per process, since the name can only be registered once.
+    {
+        SudokuStats stats = this;
+        View view = new View()
+        {
+            public long getSolves() { return solves.sum(); }
+            public double getMeanMicros() { long n = solves.sum(); return (n == 0) ? 0 : solveNanos.sum() / 1e3 / n; }
+            public double getP50Micros() { return snapshot().percentileNanos(50) / 1e3; }
+            public double getP99Micros() { return snapshot().percentileNanos(99) / 1e3; }
+            public long getPasses() { return counters[PASSES].sum(); }
+            public long getNakedSingles() { return counters[NAKED_SINGLES].sum(); }
+            public long getHiddenSingles() { return counters[HIDDEN_SINGLES_ROWS].sum() + counters[HIDDEN_SINGLES_COLUMNS].sum() + counters[HIDDEN_SINGLES_SQUARES].sum(); }
+            public long getPointingEliminations() { return counters[POINTING_ELIMINATIONS].sum(); }
+            public long getSearchNodes() { return counters[SEARCH_NODES].sum(); }
+            public long getBacktracks() { return counters[BACKTRACKS].sum(); }
+            public long getStrategyEliminations() { return counters[STRATEGY_ELIMINATIONS].sum(); }
+            public void reset() { stats.reset(); }
+        };
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(view, View.class), new ObjectName("SudokuSolver:type=Stats"));
+    }
+}
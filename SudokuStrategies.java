@@ -0,0 +1,326 @@
+/**
+ * The standard SudokuStrategy techniques, all worked out on 9-bit masks.
+ *
+ * Naked subsets: n empty boxes of a unit whose possibilities together are only n numbers; those numbers go nowhere else in the unit.
+ * Hidden subsets: n numbers of a unit that together fit in only n boxes; those boxes can hold nothing else.
+ * Box-line reduction: a number whose places in a row or column all lie in one square; it goes nowhere else in that square.
+ * Fish (X-Wing for n = 2, Swordfish for n = 3): n rows in which a number's places all fall within the same n columns;
+ * the number goes nowhere else in those columns. The same holds with rows and columns swapped.
+ *
+ * Subsets and fish share one search: given nine 9-bit masks, find n of them (from those in play) whose union has exactly n bits.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public class SudokuStrategies
+{
+    public static SudokuStrategy[] pipeline() // Every strategy here, cheapest first. Each call makes new instances, for one solver.
+    {
+        return new SudokuStrategy[] {
+            new BoxLineReduction(),
+            new NakedSubsets(2), new HiddenSubsets(2),
+            new Fish(2),
+            new NakedSubsets(3), new HiddenSubsets(3),
+            new Fish(3)
+        };
+    }
+
+    static int findSubset(int[] masks, int inPlay, int size, int from) // Returns the next subset of inPlay, counting down from the submask from, with size members whose masks together have exactly size bits. 0 if there is none.
+    {
+        // Only indexes in play can take part, and there are usually few of them, so walking the submasks of inPlay is cheaper than trying every combination.
+        for(int subset = from; subset != 0; subset = (subset - 1) & inPlay)
+        {
+            if(Integer.bitCount(subset) != size)
+            {
+                continue;
+            }
+            int union = 0;
+            for(int rest = subset; rest != 0; rest &= rest - 1)
+            {
+                union |= masks[Integer.numberOfTrailingZeros(rest)];
+            }
+            if(Integer.bitCount(union) == size)
+            {
+                return subset;
+            }
+        }
+        return 0;
+    }
+
+    public static class NakedSubsets implements SudokuStrategy
+    {
+        private final int size;
+        private final int[] masks = new int[9]; // Possibilities of each box of the unit.
+
+        public NakedSubsets(int size)
+        {
+            this.size = size;
+        }
+
+        public String getName()
+        {
+            return (size == 2) ? "naked pairs" : (size == 3) ? "naked triples" : "naked subsets of " + size;
+        }
+
+        public boolean apply(SudokuCandidates state)
+        {
+            for(int unit = 0; unit < 27; unit++)
+            {
+                int inPlay = 0; // Empty boxes with at most size possibilities.
+                for(int k = 0; k < 9; k++)
+                {
+                    int candidates = state.getCandidates(SudokuTables.UNIT_BOXES[unit * 9 + k]);
+                    masks[k] = candidates;
+                    if(candidates != 0 && Integer.bitCount(candidates) <= size)
+                    {
+                        inPlay |= 1 << k;
+                    }
+                }
+
+                int empty = 0;
+                for(int k = 0; k < 9; k++)
+                {
+                    if(masks[k] != 0)
+                    {
+                        empty |= 1 << k;
+                    }
+                }
+                if(Integer.bitCount(empty) <= size)
+                {
+                    continue;
+                }
+
+                for(int subset = findSubset(masks, inPlay, size, inPlay); subset != 0; subset = findSubset(masks, inPlay, size, (subset - 1) & inPlay))
+                {
+                    int numbers = 0;
+                    for(int rest = subset; rest != 0; rest &= rest - 1)
+                    {
+                        numbers |= masks[Integer.numberOfTrailingZeros(rest)];
+                    }
+
+                    boolean progress = false;
+                    for(int k = 0; k < 9; k++)
+                    {
+                        if((subset & (1 << k)) == 0 && (masks[k] & numbers) != 0)
+                        {
+                            progress |= eliminateAll(state, SudokuTables.UNIT_BOXES[unit * 9 + k], masks[k] & numbers);
+                        }
+                    }
+                    if(progress)
+                    {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    public static class HiddenSubsets implements SudokuStrategy
+    {
+        private final int size;
+        private final int[] places = new int[9]; // places[d]: the boxes of the unit (bit k) where number d + 1 can go.
+
+        public HiddenSubsets(int size)
+        {
+            this.size = size;
+        }
+
+        public String getName()
+        {
+            return (size == 2) ? "hidden pairs" : (size == 3) ? "hidden triples" : "hidden subsets of " + size;
+        }
+
+        public boolean apply(SudokuCandidates state)
+        {
+            for(int unit = 0; unit < 27; unit++)
+            {
+                for(int d = 0; d < 9; d++)
+                {
+                    places[d] = 0;
+                }
+                for(int k = 0; k < 9; k++)
+                {
+                    for(int rest = state.getCandidates(SudokuTables.UNIT_BOXES[unit * 9 + k]); rest != 0; rest &= rest - 1)
+                    {
+                        places[Integer.numberOfTrailingZeros(rest)] |= 1 << k;
+                    }
+                }
+
+                int inPlay = 0; // Numbers still to place in the unit that fit in at most size boxes.
+                for(int d = 0; d < 9; d++)
+                {
+                    if(places[d] != 0 && Integer.bitCount(places[d]) <= size)
+                    {
+                        inPlay |= 1 << d;
+                    }
+                }
+
+                for(int numbers = findSubset(places, inPlay, size, inPlay); numbers != 0; numbers = findSubset(places, inPlay, size, (numbers - 1) & inPlay))
+                {
+                    int boxes = 0;
+                    for(int rest = numbers; rest != 0; rest &= rest - 1)
+                    {
+                        boxes |= places[Integer.numberOfTrailingZeros(rest)];
+                    }
+
+                    boolean progress = false;
+                    for(int rest = boxes; rest != 0; rest &= rest - 1)
+                    {
+                        int box = SudokuTables.UNIT_BOXES[unit * 9 + Integer.numberOfTrailingZeros(rest)];
+                        progress |= eliminateAll(state, box, state.getCandidates(box) & ~numbers);
+                    }
+                    if(progress)
+                    {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    public static class BoxLineReduction implements SudokuStrategy
+    {
+        public String getName()
+        {
+            return "box-line reduction";
+        }
+
+        public boolean apply(SudokuCandidates state)
+        {
+            for(int line = 0; line < SudokuTables.SQUARE_UNITS; line++) // Rows, then columns.
+            {
+                for(int num = 1; num < 10; num++)
+                {
+                    int bit = 1 << (num - 1);
+                    int squares = 0; // Bit s is set if num can go somewhere in this line within square s.
+                    for(int k = line * 9; k < line * 9 + 9; k++)
+                    {
+                        int box = SudokuTables.UNIT_BOXES[k];
+                        if((state.getCandidates(box) & bit) != 0)
+                        {
+                            squares |= 1 << SudokuTables.SQUARE[box];
+                        }
+                    }
+                    if(squares == 0 || (squares & (squares - 1)) != 0)
+                    {
+                        continue;
+                    }
+
+                    int square = SudokuTables.SQUARE_UNITS + Integer.numberOfTrailingZeros(squares);
+                    boolean progress = false;
+                    for(int k = square * 9; k < square * 9 + 9; k++)
+                    {
+                        int box = SudokuTables.UNIT_BOXES[k];
+                        int boxLine = (line < SudokuTables.COLUMN_UNITS) ? SudokuTables.ROW[box] : SudokuTables.COLUMN_UNITS + SudokuTables.COLUMN[box];
+                        if(boxLine != line)
+                        {
+                            progress |= state.eliminate(box, num);
+                        }
+                    }
+                    if(progress)
+                    {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    public static class Fish implements SudokuStrategy
+    {
+        private final int size;
+        private final int[] places = new int[9]; // places[line]: the cross lines (bit) where the number can go in that line.
+        private final int[] rowPlaces = new int[81]; // rowPlaces[(num - 1) * 9 + row]: the columns (bit) where num can go in that row.
+        private final int[] columnPlaces = new int[81]; // columnPlaces[(num - 1) * 9 + column]: the rows where num can go in that column.
+
+        public Fish(int size)
+        {
+            this.size = size;
+        }
+
+        public String getName()
+        {
+            return (size == 2) ? "X-Wing" : (size == 3) ? "Swordfish" : "fish of " + size;
+        }
+
+        public boolean apply(SudokuCandidates state)
+        {
+            for(int i = 0; i < 81; i++)
+            {
+                rowPlaces[i] = 0;
+                columnPlaces[i] = 0;
+            }
+            for(int box = 0; box < 81; box++) // One pass over the board fills the places of every number.
+            {
+                int row = SudokuTables.ROW[box];
+                int column = SudokuTables.COLUMN[box];
+                for(int rest = state.getCandidates(box); rest != 0; rest &= rest - 1)
+                {
+                    int d = Integer.numberOfTrailingZeros(rest);
+                    rowPlaces[d * 9 + row] |= 1 << column;
+                    columnPlaces[d * 9 + column] |= 1 << row;
+                }
+            }
+
+            for(int num = 1; num < 10; num++)
+            {
+                for(int byColumns = 0; byColumns < 2; byColumns++) // Base lines are rows, then columns.
+                {
+                    int[] lineplaces = (byColumns == 0) ? rowPlaces : columnPlaces;
+                    int inPlay = 0;
+                    for(int line = 0; line < 9; line++)
+                    {
+                        int mask = lineplaces[(num - 1) * 9 + line];
+                        places[line] = mask;
+                        if(mask != 0 && Integer.bitCount(mask) <= size)
+                        {
+                            inPlay |= 1 << line;
+                        }
+                    }
+
+                    for(int lines = findSubset(places, inPlay, size, inPlay); lines != 0; lines = findSubset(places, inPlay, size, (lines - 1) & inPlay))
+                    {
+                        int crosses = 0;
+                        for(int rest = lines; rest != 0; rest &= rest - 1)
+                        {
+                            crosses |= places[Integer.numberOfTrailingZeros(rest)];
+                        }
+
+                        boolean progress = false;
+                        for(int line = 0; line < 9; line++)
+                        {
+                            if((lines & (1 << line)) != 0 || (places[line] & crosses) == 0)
+                            {
+                                continue;
+                            }
+                            for(int rest = places[line] & crosses; rest != 0; rest &= rest - 1)
+                            {
+                                int cross = Integer.numberOfTrailingZeros(rest);
+                                progress |= state.eliminate((byColumns == 0) ? line * 9 + cross : cross * 9 + line, num);
+                            }
+                        }
+                        if(progress)
+                        {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private static boolean eliminateAll(SudokuCandidates state, int box, int numbers) // Removes every number in the mask from the box. Returns true if any was a possibility.
+    {
+        boolean progress = false;
+        for(int rest = numbers; rest != 0; rest &= rest - 1)
+        {
+            progress |= state.eliminate(box, Integer.numberOfTrailingZeros(rest) + 1);
+        }
+        return progress;
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * A logical technique that removes possibilities from a board, plugged into SudokuSolver with setStrategies().
+ *
+ * The solver always runs its own cheap techniques first (naked and hidden singles, pointing pairs). Strategies only run once those are stuck,
+ * in the order they were given, and as soon as one of them removes something the cheap techniques get another go before the next strategy is tried.
+ * So strategies should be listed from cheapest to most expensive, and apply() should return as soon as it has made progress rather than finish
+ * the whole board. SudokuStrategies has the standard ones and a pipeline in cost order.
+ *
+ * Every change must go through SudokuCandidates.eliminate() (or place()), so that it lands on the undo trail and a search can roll it back.
+ * A strategy may keep scratch state, so an instance belongs to one solver.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public interface SudokuStrategy
+{
+    String getName(); 
+    
+    boolean apply(SudokuCandidates state); // Looks for one application of the technique and removes what it allows. Returns true if anything was removed. 
+}
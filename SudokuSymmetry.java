@@ -0,0 +1,350 @@
+/**
+ * Reduces a puzzle to a canonical form under the symmetries of Sudoku, so that puzzles which are the same up to relabeling the numbers,
+ * transposing, permuting the three bands or stacks, or permuting the rows within a band or the columns within a stack all share one form.
+ *
+ * The canonical form is the lexicographically smallest transformed board, with the numbers relabeled 1, 2, 3, ... in order of first appearance.
+ * Trying all 2 * 6^8 arrangements of rows and columns would be far too slow, so only arrangements that sort the rows and columns by
+ * invariant signatures are tried: the clue counts of each row split by stack (sorted, so stack order does not matter), and of each band.
+ * Equal signatures are tried in every order, and the comparison with the best board so far stops at the first box that differs.
+ *
+ * Since the signatures only depend on the puzzle up to symmetry, equivalent puzzles try the same set of transformed boards and reach the same form.
+ * Highly regular inputs (solved grids and nearly full boards, for instance) tie almost everywhere, and comparing thousands of boards would cost
+ * far more than solving them. The number of arrangements follows from the signatures alone, so it is counted first, and if it is above LIMIT
+ * canonicalize() gives up at once and returns false. Equivalent puzzles count the same number, so they all give up together.
+ *
+ * The transform that was used is kept so that a board in canonical form (a solution, typically) can be mapped back with restore().
+ * An instance keeps its scratch arrays between calls; it is reusable but not thread safe.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.util.*;
+
+public class SudokuSymmetry
+{
+    public static final int LIMIT = 64; // Most (row arrangement, column arrangement) pairs tried for one puzzle.
+
+    private static final int[][] ORDERS = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+
+    private final int[] oriented = new int[81]; // The puzzle, transposed or not.
+    private final int[] rowKeys = new int[9];
+    private final int[] columnKeys = new int[9];
+    private final int[] lineKeys = new int[9]; // Scratch for profile().
+    private final int[] rowProfile = new int[3]; // Sorted band signatures of the rows of the puzzle,
+    private final int[] columnProfile = new int[3]; // and of its columns.
+    private final int[] rowMaps = new int[1296 * 9]; // Row arrangements that sort the rows by signature. Row i of the result is row rowMaps[a * 9 + i] of the oriented puzzle.
+    private final int[] columnMaps = new int[1296 * 9];
+    private final int[] labels = new int[10]; // Scratch relabeling used while comparing.
+
+    private final int[] canonical = new int[81]; // The best board found.
+    private final int[] rowMap = new int[9]; // Transform of the best board: the oriented puzzle's row and column for each row and column of it,
+    private final int[] columnMap = new int[9];
+    private boolean transposed; // whether the puzzle was transposed first,
+    private final int[] relabel = new int[10]; // and the canonical label of each number (a permutation of 1 to 9; 0 stays 0).
+
+    public boolean canonicalize(int[] puzzle) // Finds the canonical form of an 81 number puzzle, whose numbers must be 0 to 9. Read it with getCanonical() or pack(). Returns false, with no form found, if more than LIMIT arrangements tie.
+    {
+        profile(puzzle, false, rowProfile);
+        profile(puzzle, true, columnProfile);
+        int order = compare(rowProfile, columnProfile);
+        int pairs = 0;
+        for(int orientation = 0; orientation < 2; orientation++)
+        {
+            if(tried(orientation, order))
+            {
+                orient(puzzle, orientation);
+                pairs += countArrangements(rowKeys) * countArrangements(columnKeys);
+            }
+        }
+        if(pairs > LIMIT)
+        {
+            return false;
+        }
+
+        boolean first = true;
+        for(int orientation = 0; orientation < 2; orientation++)
+        {
+            if(!tried(orientation, order))
+            {
+                continue;
+            }
+
+            orient(puzzle, orientation);
+            int rows = arrangements(rowKeys, rowMaps);
+            int columns = arrangements(columnKeys, columnMaps);
+            for(int r = 0; r < rows; r++)
+            {
+                for(int c = 0; c < columns; c++)
+                {
+                    if(first || isSmaller(r * 9, c * 9))
+                    {
+                        first = false;
+                        keep(r * 9, c * 9, orientation == 1);
+                    }
+                }
+            }
+        }
+
+        completeRelabel();
+        return true;
+    }
+
+    private static boolean tried(int orientation, int order) // The orientation whose rows have the smaller profile is used; on a tie both are tried.
+    {
+        return (orientation == 0) ? order <= 0 : order >= 0;
+    }
+
+    private void orient(int[] puzzle, int orientation) // Fills oriented with the puzzle, transposed for orientation 1, and works out its row and column signatures.
+    {
+        for(int box = 0; box < 81; box++)
+        {
+            oriented[box] = (orientation == 0) ? puzzle[box] : puzzle[(box % 9) * 9 + box / 9];
+        }
+        signatures(oriented, false, rowKeys);
+        signatures(oriented, true, columnKeys);
+    }
+
+    private void profile(int[] puzzle, boolean transpose, int[] profile) // Fills profile with the band signatures of the rows (or the columns), sorted.
+    {
+        for(int box = 0; box < 81; box++)
+        {
+            oriented[box] = transpose ? puzzle[(box % 9) * 9 + box / 9] : puzzle[box];
+        }
+        signatures(oriented, false, lineKeys);
+        int a = bandKey(lineKeys, 0);
+        int b = bandKey(lineKeys, 1);
+        int c = bandKey(lineKeys, 2);
+        profile[0] = Math.min(a, Math.min(b, c));
+        profile[2] = Math.max(a, Math.max(b, c));
+        profile[1] = a + b + c - profile[0] - profile[2];
+    }
+
+    private static int compare(int[] a, int[] b) // Compares two profiles lexicographically.
+    {
+        for(int i = 0; i < 3; i++)
+        {
+            if(a[i] != b[i])
+            {
+                return (a[i] < b[i]) ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    private static void signatures(int[] board, boolean columns, int[] keys) // Signature of every row (or column): its clue count, then its clue counts per stack (per band for columns), sorted. Fits in 8 bits.
+    {
+        for(int line = 0; line < 9; line++)
+        {
+            int a = 0;
+            int b = 0;
+            int c = 0;
+            for(int k = 0; k < 9; k++)
+            {
+                if(board[columns ? k * 9 + line : line * 9 + k] != 0)
+                {
+                    if(k < 3)
+                    {
+                        a++;
+                    }
+                    else if(k < 6)
+                    {
+                        b++;
+                    }
+                    else
+                    {
+                        c++;
+                    }
+                }
+            }
+            int high = Math.max(a, Math.max(b, c));
+            int middle = a + b + c - high - Math.min(a, Math.min(b, c));
+            keys[line] = ((a + b + c) * 4 + high) * 4 + middle;
+        }
+    }
+
+    private static int bandKey(int[] keys, int band) // Signature of a band: the signatures of its three lines, sorted and packed 8 bits each.
+    {
+        int a = keys[band * 3];
+        int b = keys[band * 3 + 1];
+        int c = keys[band * 3 + 2];
+        int low = Math.min(a, Math.min(b, c));
+        int high = Math.max(a, Math.max(b, c));
+        int middle = a + b + c - low - high;
+        return (low << 16) | (middle << 8) | high;
+    }
+
+    private static int arrangements(int[] keys, int[] maps) // Lists every arrangement of the lines that sorts bands by band signature and lines within a band by signature. Returns how many there are.
+    {
+        int count = 0;
+        for(int[] bands : ORDERS)
+        {
+            if(bandKey(keys, bands[0]) > bandKey(keys, bands[1]) || bandKey(keys, bands[1]) > bandKey(keys, bands[2]))
+            {
+                continue;
+            }
+            for(int[] first : ORDERS)
+            {
+                if(!sorts(keys, bands[0], first))
+                {
+                    continue;
+                }
+                for(int[] second : ORDERS)
+                {
+                    if(!sorts(keys, bands[1], second))
+                    {
+                        continue;
+                    }
+                    for(int[] third : ORDERS)
+                    {
+                        if(!sorts(keys, bands[2], third))
+                        {
+                            continue;
+                        }
+                        int at = count++ * 9;
+                        for(int i = 0; i < 3; i++)
+                        {
+                            maps[at + i] = bands[0] * 3 + first[i];
+                            maps[at + 3 + i] = bands[1] * 3 + second[i];
+                            maps[at + 6 + i] = bands[2] * 3 + third[i];
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int countArrangements(int[] keys) // The number of arrangements that arrangements() would list, without listing them.
+    {
+        int bandOrders = 0;
+        for(int[] bands : ORDERS)
+        {
+            if(bandKey(keys, bands[0]) <= bandKey(keys, bands[1]) && bandKey(keys, bands[1]) <= bandKey(keys, bands[2]))
+            {
+                bandOrders++;
+            }
+        }
+        int count = bandOrders;
+        for(int band = 0; band < 3; band++)
+        {
+            int lineOrders = 0;
+            for(int[] order : ORDERS)
+            {
+                lineOrders += sorts(keys, band, order) ? 1 : 0;
+            }
+            count *= lineOrders;
+        }
+        return count;
+    }
+
+    private static boolean sorts(int[] keys, int band, int[] order) // True if order puts the lines of the band in nondecreasing signature order.
+    {
+        return keys[band * 3 + order[0]] <= keys[band * 3 + order[1]] && keys[band * 3 + order[1]] <= keys[band * 3 + order[2]];
+    }
+
+    private boolean isSmaller(int rows, int columns) // True if the oriented puzzle arranged by the given maps, and relabeled, is smaller than the best board so far.
+    {
+        Arrays.fill(labels, 0);
+        int next = 1;
+        for(int i = 0; i < 9; i++)
+        {
+            int rowStart = rowMaps[rows + i] * 9;
+            for(int j = 0; j < 9; j++)
+            {
+                int num = oriented[rowStart + columnMaps[columns + j]];
+                if(num != 0)
+                {
+                    if(labels[num] == 0)
+                    {
+                        labels[num] = next++;
+                    }
+                    num = labels[num];
+                }
+                int best = canonical[i * 9 + j];
+                if(num != best)
+                {
+                    return num < best;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void keep(int rows, int columns, boolean transpose) // Makes the given arrangement the best board so far.
+    {
+        Arrays.fill(relabel, 0);
+        int next = 1;
+        for(int i = 0; i < 9; i++)
+        {
+            rowMap[i] = rowMaps[rows + i];
+            columnMap[i] = columnMaps[columns + i];
+        }
+        for(int i = 0; i < 9; i++)
+        {
+            for(int j = 0; j < 9; j++)
+            {
+                int num = oriented[rowMap[i] * 9 + columnMap[j]];
+                if(num != 0)
+                {
+                    if(relabel[num] == 0)
+                    {
+                        relabel[num] = next++;
+                    }
+                    num = relabel[num];
+                }
+                canonical[i * 9 + j] = num;
+            }
+        }
+        transposed = transpose;
+    }
+
+    private void completeRelabel() // Gives the numbers that do not appear in the puzzle the unused labels, in order, so relabel is a permutation.
+    {
+        int used = 0; // Bit l is set once label l has been given out.
+        for(int num = 1; num < 10; num++)
+        {
+            used |= 1 << relabel[num];
+        }
+        for(int num = 1; num < 10; num++)
+        {
+            if(relabel[num] == 0)
+            {
+                int label = Integer.numberOfTrailingZeros(~used & 0x3FE);
+                relabel[num] = label;
+                used |= 1 << label;
+            }
+        }
+    }
+
+    public void getCanonical(int[] board) // Copies the canonical form found by the last canonicalize() into an 81 number array.
+    {
+        System.arraycopy(canonical, 0, board, 0, 81);
+    }
+
+    public void pack(long[] packed) // Packs the canonical form into six longs, four bits per box, for use as a compact key.
+    {
+        Arrays.fill(packed, 0, 6, 0);
+        for(int box = 0; box < 81; box++)
+        {
+            packed[box >> 4] |= (long) canonical[box] << ((box & 15) * 4);
+        }
+    }
+
+    public void restore(int[] canonicalBoard, int[] board) // Maps a board in canonical form (a solution of the canonical puzzle) back through the inverse of the last transform.
+    {
+        for(int num = 1; num < 10; num++)
+        {
+            labels[relabel[num]] = num; // labels becomes the inverse of relabel.
+        }
+        for(int i = 0; i < 9; i++)
+        {
+            for(int j = 0; j < 9; j++)
+            {
+                int row = rowMap[i];
+                int column = columnMap[j];
+                board[transposed ? column * 9 + row : row * 9 + column] = labels[canonicalBoard[i * 9 + j]];
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Precomputed lookup tables for the 81 box board, so constraint checks and eliminations are flat array lookups instead of row % 3 / column % 3 branches. 
+ * 
+ * Boxes are numbered row * 9 + column. Units are numbered 0 - 8 for the rows, 9 - 17 for the columns, and 18 - 26 for the squares 
+ * (squares left to right, top to bottom). Every table is a flat byte array. 
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public class SudokuTables
+{
+    public static final byte[] ROW = new byte[81]; // Row of each box. 
+    public static final byte[] COLUMN = new byte[81]; // Column of each box. 
+    public static final byte[] SQUARE = new byte[81]; // Square of each box. 
+    public static final byte[] UNIT_BOXES = new byte[27 * 9]; // The nine boxes of unit u are at [u * 9, u * 9 + 8]. 
+    public static final byte[] PEERS = new byte[81 * 20]; // The 20 boxes sharing a row, column, or square with box b are at [b * 20, b * 20 + 19]. 
+    public static final int[] UNIT_BITS = new int[81]; // The three units of each box as a 27-bit mask, bit u set for unit u. 
+    
+    public static final int ROW_UNITS = 0; // First unit number of each kind. 
+    public static final int COLUMN_UNITS = 9; 
+    public static final int SQUARE_UNITS = 18; 
+    
+    static
+    {
+        int[] filled = new int[27]; 
+        for(int box = 0; box < 81; box++)
+        {
+            int row = box / 9; 
+            int column = box % 9; 
+            int square = (row / 3) * 3 + (column / 3); 
+            ROW[box] = (byte) row; 
+            COLUMN[box] = (byte) column; 
+            SQUARE[box] = (byte) square; 
+            UNIT_BITS[box] = (1 << (ROW_UNITS + row)) | (1 << (COLUMN_UNITS + column)) | (1 << (SQUARE_UNITS + square)); 
+            
+            UNIT_BOXES[(ROW_UNITS + row) * 9 + filled[ROW_UNITS + row]++] = (byte) box; 
+            UNIT_BOXES[(COLUMN_UNITS + column) * 9 + filled[COLUMN_UNITS + column]++] = (byte) box; 
+            UNIT_BOXES[(SQUARE_UNITS + square) * 9 + filled[SQUARE_UNITS + square]++] = (byte) box; 
+        }
+        
+        for(int box = 0; box < 81; box++)
+        {
+            int count = 0; 
+            for(int other = 0; other < 81; other++)
+            {
+                if(other != box && (ROW[other] == ROW[box] || COLUMN[other] == COLUMN[box] || SQUARE[other] == SQUARE[box]))
+                {
+                    PEERS[box * 20 + count++] = (byte) other; 
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Checks that DancingLinksSolver turns away puzzles holding values outside 0 - 9 before it covers anything, and that the matrix is left
+ * as it was found, so the next puzzle still solves.
+ *
+ * Run from the project folder with javac -d out *.java test/DancingLinksSolverTest.java, then java -cp out DancingLinksSolverTest.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+public class DancingLinksSolverTest
+{
+    private static final String PUZZLE = "004300209005009001070060043006002087190007400050083000600000105003508690042910300";
+
+    private static int failures;
+
+    public static void main(String[] args)
+    {
+        DancingLinksSolver solver = new DancingLinksSolver();
+        int[] solution = new int[81];
+
+        rejects(solver, 10, solution);
+        rejects(solver, -3, solution);
+
+        int[] puzzle = parse(PUZZLE);
+        check(solver.solve(puzzle, solution) == SudokuEngine.SOLVED, "the puzzle solves after the rejected ones");
+        check(solves(puzzle, solution), "the solution is a full, valid grid holding the givens");
+
+        if(failures > 0)
+        {
+            System.out.println(failures + " check(s) failed.");
+            System.exit(1);
+        }
+        System.out.println("All checks passed.");
+    }
+
+    private static void rejects(DancingLinksSolver solver, int value, int[] solution) // A puzzle whose first box holds value is invalid to both entry points.
+    {
+        int[] puzzle = parse(PUZZLE);
+        puzzle[0] = value;
+        check(solver.solve(puzzle, solution) == SudokuEngine.INVALID, "solve() rejects " + value);
+        check(solver.countSolutions(puzzle, 2, solution) == 0, "countSolutions() finds nothing for " + value);
+    }
+
+    private static boolean solves(int[] puzzle, int[] solution) // True if solution is full, repeats nothing, and keeps every given.
+    {
+        for(int i = 0; i < 81; i++)
+        {
+            if(solution[i] == 0 || (puzzle[i] != 0 && puzzle[i] != solution[i]))
+            {
+                return false;
+            }
+        }
+        return new SudokuCandidates().load(solution);
+    }
+
+    private static int[] parse(String line)
+    {
+        int[] puzzle = new int[81];
+        for(int i = 0; i < 81; i++)
+        {
+            puzzle[i] = line.charAt(i) - '0';
+        }
+        return puzzle;
+    }
+
+    private static void check(boolean passed, String what)
+    {
+        if(!passed)
+        {
+            failures++;
+            System.out.println("FAILED: " + what);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Checks that erasing a number in a SudokuSession gives back the hint eliminations that rested on it. On generated puzzles, the player
+ * puts a wrong number in a box, plays hints from there, and then erases the wrong number and everything the hints filled in. Every empty
+ * box must still have its solution's number as a candidate, and playing hints from there must finish the puzzle on its solution.
+ *
+ * Run from the project folder with javac -d out *.java test/SudokuSessionTest.java, then java -cp out SudokuSessionTest.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import java.util.*;
+
+public class SudokuSessionTest
+{
+    private static final int PUZZLES = 200;
+    private static final long SEED = 7;
+
+    private static int failures;
+
+    public static void main(String[] args)
+    {
+        SudokuGenerator generator = new SudokuGenerator();
+        SudokuSession.Hint hint = new SudokuSession.Hint();
+        int tested = 0;
+        for(int index = 0; index < PUZZLES; index++)
+        {
+            SudokuGenerator.Puzzle puzzle = generator.generate(SudokuGenerator.random(SEED, index));
+            if(wrongThenErase(puzzle, hint))
+            {
+                tested++;
+            }
+        }
+
+        if(failures > 0)
+        {
+            System.out.println(failures + " check(s) failed.");
+            System.exit(1);
+        }
+        System.out.println("All checks passed on " + tested + " puzzles.");
+    }
+
+    private static boolean wrongThenErase(SudokuGenerator.Puzzle puzzle, SudokuSession.Hint hint) // Returns false if no box had a wrong candidate to place.
+    {
+        SudokuSession session = new SudokuSession(puzzle.puzzle);
+        int wrongBox = -1;
+        for(int box = 0; box < 81 && wrongBox < 0; box++)
+        {
+            int wrong = session.getCandidates(box) & ~(1 << (puzzle.solution[box] - 1));
+            if(wrong != 0 && session.place(box, Integer.numberOfTrailingZeros(wrong) + 1))
+            {
+                wrongBox = box;
+            }
+        }
+        if(wrongBox < 0)
+        {
+            return false;
+        }
+
+        for(int played = 0; played < 81; played++) // Hints from the wrong board, until they reach a contradiction or have to search.
+        {
+            int technique = session.nextHint(hint);
+            if(technique == SudokuSession.CONTRADICTION || technique == SudokuSession.SEARCH || technique == SudokuSession.COMPLETE)
+            {
+                break;
+            }
+            session.apply(hint);
+        }
+
+        session.erase(wrongBox);
+        for(int box = 0; box < 81; box++)
+        {
+            if(!session.isGiven(box))
+            {
+                session.erase(box);
+            }
+        }
+        for(int box = 0; box < 81; box++)
+        {
+            if(session.getValue(box) == 0 && (session.getCandidates(box) & (1 << (puzzle.solution[box] - 1))) == 0)
+            {
+                check(false, "box " + box + " lost its number " + puzzle.solution[box] + " after the wrong number was erased");
+                return true;
+            }
+        }
+
+        for(int played = 0; played < 81 && session.nextHint(hint) != SudokuSession.COMPLETE; played++)
+        {
+            if(hint.getTechnique() == SudokuSession.CONTRADICTION)
+            {
+                check(false, "hints reached a contradiction after the wrong number was erased: " + hint);
+                return true;
+            }
+            session.apply(hint);
+        }
+        for(int box = 0; box < 81; box++)
+        {
+            if(session.getValue(box) != puzzle.solution[box])
+            {
+                check(false, "hints did not finish on the solution, box " + box);
+                return true;
+            }
+        }
+        return true;
+    }
+
+    private static void check(boolean passed, String what)
+    {
+        if(!passed)
+        {
+            failures++;
+            System.out.println("FAILED: " + what);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * The passes of SudokuLaneBulkSolver written with the Vector API, one puzzle per lane of the preferred int vector (8 lanes with AVX2, 16 with AVX-512).
+ *
+ * Every box and unit of the lane major arrays is one vector, so a pass is a fixed sequence of vector loads, bit operations, compares, and stores:
+ * 27 unit masks, 81 candidate updates, 27 hidden single scans, and 81 naked single checks, each covering a whole group of puzzles.
+ *
+ * jdk.incubator.vector is not resolved by default, so this class lives apart from the others and is built and run with the module added:
+ *
+ *     javac *.java
+ *     javac --add-modules jdk.incubator.vector -cp . -d . vector/SudokuVectorBulkSolver.java
+ *     java --add-modules jdk.incubator.vector SudokuBulkSolver input.txt output.txt
+ *
+ * SudokuBulkSolver.create() loads it reflectively and falls back to solving one puzzle at a time when it is missing or the module is not there.
+ *
+ * @author Tanish Kumar
+ * @version 10/18/2026
+ */
+
+import jdk.incubator.vector.*;
+
+public class SudokuVectorBulkSolver extends SudokuLaneBulkSolver
+{
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    public SudokuVectorBulkSolver()
+    {
+        super(SPECIES.length());
+    }
+
+    public String getImplementation()
+    {
+        return "vector";
+    }
+
+    protected boolean pass()
+    {
+        IntVector zero = IntVector.zero(SPECIES);
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+        IntVector all = IntVector.broadcast(SPECIES, ALL);
+        IntVector conflicts = IntVector.fromArray(SPECIES, conflict, 0);
+
+        // Unit masks, catching a number placed twice in a unit.
+        for(int unit = 0; unit < 27; unit++)
+        {
+            IntVector mask = zero;
+            for(int k = unit * 9; k < unit * 9 + 9; k++)
+            {
+                IntVector bits = IntVector.fromArray(SPECIES, placed, SudokuTables.UNIT_BOXES[k] * lanes);
+                conflicts = conflicts.or(mask.and(bits));
+                mask = mask.or(bits);
+            }
+            mask.intoArray(unitMasks, unit * lanes);
+        }
+
+        // Candidates, catching empty boxes left without any.
+        for(int box = 0; box < 81; box++)
+        {
+            int b = box * lanes;
+            IntVector units = IntVector.fromArray(SPECIES, unitMasks, SudokuTables.ROW[box] * lanes)
+                .or(IntVector.fromArray(SPECIES, unitMasks, (SudokuTables.COLUMN_UNITS + SudokuTables.COLUMN[box]) * lanes))
+                .or(IntVector.fromArray(SPECIES, unitMasks, (SudokuTables.SQUARE_UNITS + SudokuTables.SQUARE[box]) * lanes));
+            IntVector c = IntVector.fromArray(SPECIES, candidates, b).and(units.not());
+            c.intoArray(candidates, b);
+            VectorMask<Integer> empty = IntVector.fromArray(SPECIES, placed, b).compare(VectorOperators.EQ, 0);
+            conflicts = conflicts.lanewise(VectorOperators.OR, one, empty.and(c.compare(VectorOperators.EQ, 0)));
+            zero.intoArray(found, b);
+        }
+
+        // Hidden singles, catching numbers with no place left in a unit.
+        for(int unit = 0; unit < 27; unit++)
+        {
+            IntVector once = zero;
+            IntVector twice = zero;
+            for(int k = unit * 9; k < unit * 9 + 9; k++)
+            {
+                IntVector c = IntVector.fromArray(SPECIES, candidates, SudokuTables.UNIT_BOXES[k] * lanes);
+                twice = twice.or(once.and(c));
+                once = once.or(c);
+            }
+            IntVector covered = once.or(IntVector.fromArray(SPECIES, unitMasks, unit * lanes));
+            conflicts = conflicts.lanewise(VectorOperators.OR, one, covered.compare(VectorOperators.NE, all));
+            IntVector hidden = once.and(twice.not());
+            if(!hidden.compare(VectorOperators.NE, 0).anyTrue())
+            {
+                continue;
+            }
+            for(int k = unit * 9; k < unit * 9 + 9; k++)
+            {
+                int b = SudokuTables.UNIT_BOXES[k] * lanes;
+                IntVector.fromArray(SPECIES, found, b).or(IntVector.fromArray(SPECIES, candidates, b).and(hidden)).intoArray(found, b);
+            }
+        }
+
+        // Naked singles, then place everything found.
+        VectorMask<Integer> live = conflicts.compare(VectorOperators.EQ, 0);
+        IntVector changed = zero;
+        for(int box = 0; box < 81; box++)
+        {
+            int b = box * lanes;
+            IntVector c = IntVector.fromArray(SPECIES, candidates, b);
+            IntVector f = IntVector.fromArray(SPECIES, found, b)
+                .or(zero.blend(c, c.and(c.sub(1)).compare(VectorOperators.EQ, 0)));
+            f = zero.blend(f, live);
+            VectorMask<Integer> clash = f.and(f.sub(1)).compare(VectorOperators.NE, 0); // Two different numbers must go in this box.
+            conflicts = conflicts.lanewise(VectorOperators.OR, one, clash);
+            f = f.blend(zero, clash);
+            VectorMask<Integer> place = f.compare(VectorOperators.NE, 0);
+            if(place.anyTrue())
+            {
+                IntVector.fromArray(SPECIES, placed, b).blend(f, place).intoArray(placed, b);
+                c.blend(zero, place).intoArray(candidates, b);
+                changed = changed.or(f);
+            }
+        }
+
+        conflicts.intoArray(conflict, 0);
+        return changed.compare(VectorOperators.NE, 0).anyTrue();
+    }
+}